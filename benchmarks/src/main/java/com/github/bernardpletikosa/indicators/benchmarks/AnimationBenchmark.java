@@ -0,0 +1,75 @@
+package com.github.bernardpletikosa.indicators.benchmarks;
+
+import com.github.bernardpletikosa.indicators.anim.Easing;
+import com.github.bernardpletikosa.indicators.anim.IndicatorAnimation;
+import com.github.bernardpletikosa.indicators.consts.AnimationMode;
+import com.github.bernardpletikosa.indicators.consts.Defaults;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Easing evaluation and one animation frame step in every animation mode. Frames are 16ms
+ * apart and animation is restarted towards the other end of the range whenever it finishes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AnimationBenchmark {
+
+    private static final long FRAME_NANOS = 16000000L;
+
+    // Same curve as android.view.animation.AccelerateDecelerateInterpolator
+    private static final Easing ACCELERATE_DECELERATE = new Easing() {
+        @Override
+        public float ease(float fraction) {
+            return (float) (Math.cos((fraction + 1) * Math.PI) / 2.0f) + 0.5f;
+        }
+    };
+
+    @Param({"RESTART", "RETARGET", "SPRING"})
+    public AnimationMode mode;
+
+    private final IndicatorAnimation mAnimation = new IndicatorAnimation();
+    private long mFrameTime;
+    private float mTarget;
+    private float mFraction;
+
+    @Setup
+    public void setUp() {
+        mAnimation.setMode(mode);
+        mAnimation.setRestThreshold(Defaults.DEFAULT_REST_THRESHOLD);
+    }
+
+    @Benchmark
+    public float ease() {
+        mFraction = mFraction >= 1 ? 0 : mFraction + 0.013f;
+        return ACCELERATE_DECELERATE.ease(mFraction);
+    }
+
+    @Benchmark
+    public float step() {
+        if (!mAnimation.isRunning()) {
+            mTarget = mTarget == 0 ? 360 : 0;
+            mAnimation.start(mAnimation.getValue(), Defaults.DEFAULT_ANIM_DURATION, ACCELERATE_DECELERATE);
+        }
+
+        mFrameTime += FRAME_NANOS;
+        mAnimation.step(mFrameTime, mTarget);
+        return mAnimation.getValue();
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.bernardpletikosa.indicators.benchmarks;
+
+import com.github.bernardpletikosa.indicators.series.DownsampledSeries;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One time series frame: appending a 10 Hz sample and downsampling history to 800 points, as
+ * drawn by a 400px wide time series indicator. Time per frame should not grow with history.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DownsampleBenchmark {
+
+    private static final int MAX_BUCKETS = 800;
+    private static final long SAMPLE_MILLIS = 100;
+
+    // One hour and ten hours of 10 Hz samples, also maximal number of samples so appends while
+    // measuring drop the older half like a full indicator does
+    @Param({"36000", "360000"})
+    public int history;
+
+    private DownsampledSeries mSeries;
+    private final int[] mIndices = new int[MAX_BUCKETS + 1];
+    private long mTime;
+
+    @Setup
+    public void setUp() {
+        mSeries = new DownsampledSeries(MAX_BUCKETS);
+        mSeries.setMaxSamples(history);
+        for (int i = 0; i < history; i++) mSeries.append(nextTime(), sample());
+        mSeries.downsample(mIndices);
+    }
+
+    private long nextTime() {
+        mTime += SAMPLE_MILLIS;
+        return mTime;
+    }
+
+    private float sample() {
+        return (float) (50 + 40 * Math.sin(mTime / 60000.0) + (mTime % 7));
+    }
+
+    @Benchmark
+    public int appendAndDownsample() {
+        mSeries.append(nextTime(), sample());
+        return mSeries.downsample(mIndices);
+    }
+}
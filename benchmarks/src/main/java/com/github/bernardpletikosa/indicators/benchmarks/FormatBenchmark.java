@@ -0,0 +1,71 @@
+package com.github.bernardpletikosa.indicators.benchmarks;
+
+import com.github.bernardpletikosa.indicators.text.ValueFormatter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Value text formatting done by IndicatorView.drawText on every frame, compared with string
+ * concatenation and String.format it replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormatBenchmark {
+
+    private static final String PREFIX = "$ ";
+    private static final String SUFFIX = " km/h";
+
+    private final ValueFormatter mFormatter = new ValueFormatter();
+    private float mValue;
+
+    @Setup
+    public void setUp() {
+        mFormatter.setPrefix(PREFIX);
+        mFormatter.setSuffix(SUFFIX);
+    }
+
+    private float nextValue() {
+        mValue = mValue >= 1000 ? 0 : mValue + 0.37f;
+        return mValue;
+    }
+
+    @Benchmark
+    public char[] formatInteger() {
+        mFormatter.format(nextValue(), false);
+        return mFormatter.getBuffer();
+    }
+
+    @Benchmark
+    public char[] formatDecimal() {
+        mFormatter.format(nextValue(), true);
+        return mFormatter.getBuffer();
+    }
+
+    @Benchmark
+    public String concatInteger() {
+        return PREFIX + (int) nextValue() + SUFFIX;
+    }
+
+    @Benchmark
+    public String stringFormatDecimal() {
+        BigDecimal value = new BigDecimal(nextValue()).setScale(2, RoundingMode.HALF_EVEN);
+        return PREFIX + String.format("%.2f", value) + SUFFIX;
+    }
+}
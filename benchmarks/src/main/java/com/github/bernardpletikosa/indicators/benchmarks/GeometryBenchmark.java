@@ -0,0 +1,97 @@
+package com.github.bernardpletikosa.indicators.benchmarks;
+
+import com.github.bernardpletikosa.indicators.consts.Defaults;
+import com.github.bernardpletikosa.indicators.consts.Direction;
+import com.github.bernardpletikosa.indicators.geometry.CircleGeometry;
+import com.github.bernardpletikosa.indicators.geometry.LineGeometry;
+import com.github.bernardpletikosa.indicators.geometry.PieGeometry;
+import com.github.bernardpletikosa.indicators.geometry.TriangleGeometry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Value to drawn position mapping done on every animation frame, and its inverse used for
+ * text, for every indicator type.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GeometryBenchmark {
+
+    private static final float RANGE = Defaults.DEFAULT_MAX_VALUE - Defaults.DEFAULT_MIN_VALUE;
+
+    private final CircleGeometry mCircle = new CircleGeometry();
+    private final LineGeometry mLine = new LineGeometry();
+    private final TriangleGeometry mTriangle = new TriangleGeometry();
+    private final PieGeometry mPie = new PieGeometry();
+    private final PieGeometry mHalfPie = new PieGeometry();
+    private final PieGeometry mQuarterPie = new PieGeometry();
+
+    private float mValue;
+
+    @Setup
+    public void setUp() {
+        mCircle.setRadius(240);
+        mLine.set(720, 48, Direction.BOTTOM_TOP);
+        mTriangle.set(720, 240, Direction.RIGHT_LEFT);
+        mPie.setDirection(Direction.COUNTER_CLOCKWISE);
+        mHalfPie.setMaxAngle(Defaults.HALF_PIE_MAX_ANGLE);
+        mQuarterPie.setMaxAngle(Defaults.QUARTER_PIE_MAX_ANGLE);
+    }
+
+    // Value changes between calls so mapping can't be hoisted out of the loop
+    private float nextValue() {
+        mValue = mValue >= RANGE ? 0 : mValue + 0.37f;
+        return mValue;
+    }
+
+    @Benchmark
+    public float circle() {
+        float position = mCircle.positionOf(nextValue(), RANGE);
+        return mCircle.valueAt(position, RANGE);
+    }
+
+    @Benchmark
+    public float line() {
+        float position = mLine.positionOf(nextValue(), RANGE);
+        return mLine.valueAt(position, RANGE);
+    }
+
+    @Benchmark
+    public float triangle() {
+        float position = mTriangle.positionOf(nextValue(), RANGE);
+        return mTriangle.valueAt(position, RANGE) + mTriangle.topAt(position);
+    }
+
+    @Benchmark
+    public float pie() {
+        float angle = mPie.positionOf(nextValue(), RANGE);
+        return mPie.valueAt(angle, RANGE) + mPie.sweepOf(angle);
+    }
+
+    @Benchmark
+    public float halfPie() {
+        float angle = (int) mHalfPie.positionOf(nextValue(), RANGE);
+        return mHalfPie.valueAt(angle, RANGE) + mHalfPie.sweepOf(angle);
+    }
+
+    @Benchmark
+    public float quarterPie() {
+        float angle = (int) mQuarterPie.positionOf(nextValue(), RANGE);
+        return mQuarterPie.valueAt(angle, RANGE) + mQuarterPie.sweepOf(angle);
+    }
+}
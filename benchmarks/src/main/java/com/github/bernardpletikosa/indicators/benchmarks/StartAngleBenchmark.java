@@ -0,0 +1,48 @@
+package com.github.bernardpletikosa.indicators.benchmarks;
+
+import com.github.bernardpletikosa.indicators.consts.Direction;
+import com.github.bernardpletikosa.indicators.consts.Orientation;
+import com.github.bernardpletikosa.indicators.pie.StartAngleUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Start angle lookups of half and quarter pie, cycling through all orientations and directions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StartAngleBenchmark {
+
+    private static final Orientation[] HALF = {Orientation.EAST, Orientation.WEST, Orientation.NORTH, Orientation.SOUTH};
+    private static final Orientation[] QUARTER = {Orientation.NORTH_EAST, Orientation.SOUTH_EAST,
+            Orientation.NORTH_WEST, Orientation.SOUTH_WEST};
+    private static final Direction[] DIRECTIONS = {Direction.CLOCKWISE, Direction.COUNTER_CLOCKWISE};
+
+    private int mIndex;
+
+    @Benchmark
+    public int halfPieAngle() {
+        mIndex++;
+        return StartAngleUtil.halfPieAngle(HALF[mIndex & 3], DIRECTIONS[(mIndex >> 2) & 1]);
+    }
+
+    @Benchmark
+    public int quarterPieAngle() {
+        mIndex++;
+        return StartAngleUtil.quarterPieAngle(QUARTER[mIndex & 3], DIRECTIONS[(mIndex >> 2) & 1]);
+    }
+}
@@ -0,0 +1,14 @@
+package com.github.bernardpletikosa.indicators.anim;
+
+/**
+ * Maps linear animation fraction to eased fraction, plain Java counterpart of Android
+ * interpolators used by {@link IndicatorAnimation}.
+ */
+public interface Easing {
+
+    /**
+     * @param fraction elapsed animation fraction [0, 1]
+     * @return eased fraction, may overshoot [0, 1]
+     */
+    float ease(float fraction);
+}
@@ -0,0 +1,243 @@
+package com.github.bernardpletikosa.indicators.anim;
+
+import com.github.bernardpletikosa.indicators.consts.AnimationMode;
+
+import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_REST_THRESHOLD;
+import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_SPRING_DAMPING_RATIO;
+import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_SPRING_STIFFNESS;
+
+/**
+ * Reusable animation state of one indicator. Animation moves value from the position it was
+ * started at towards target passed on every step, so target can follow layout changes while
+ * animating. Starting and stepping doesn't allocate, same instance is used for every animation.
+ * <p>In {@link AnimationMode#RESTART} mode every start eases in from rest using easing.
+ * In {@link AnimationMode#RETARGET} mode starting while running keeps current velocity and
+ * moves along a cubic Hermite curve that reaches target at rest after animation duration,
+ * easing is not used.
+ * In {@link AnimationMode#SPRING} mode value is pulled to target by a damped spring solved in
+ * closed form, duration and easing are not used and animation stops as soon as both
+ * displacement and velocity fall under rest threshold.</p>
+ */
+public class IndicatorAnimation {
+
+    // Minimal fraction applied on first frame so indication starts moving right away
+    private static final float MIN_FRACTION = 0.01f;
+    private static final long NOT_STARTED = -1;
+    private static final float NANOS_PER_MILLI = 1000000f;
+    private static final float NANOS_PER_SECOND = 1000000000f;
+    // Longest time step applied to spring, longer frame gaps are treated as stall
+    private static final float MAX_SPRING_STEP = 0.064f;
+    // Spring rests when velocity per second is below rest threshold times this factor
+    private static final float REST_VELOCITY_FACTOR = 62.5f;
+
+    private AnimationMode mMode = AnimationMode.RESTART;
+    private Easing mEasing;
+    private float mStiffness = DEFAULT_SPRING_STIFFNESS;
+    private float mDampingRatio = DEFAULT_SPRING_DAMPING_RATIO;
+    private float mRestThreshold = DEFAULT_REST_THRESHOLD;
+    private long mDurationNanos;
+    private long mStartTime = NOT_STARTED;
+    private long mLastFrameTime = NOT_STARTED;
+    private float mFrom;
+    private float mStartVelocity;
+    private float mValue;
+    private float mVelocity;
+    private boolean mRunning;
+
+    /**
+     * Sets how starting animation treats animation already in progress.
+     * @param mode animation mode
+     */
+    public void setMode(AnimationMode mode) {
+        mMode = mode;
+    }
+
+    /**
+     * @return animation mode
+     */
+    public AnimationMode getMode() {
+        return mMode;
+    }
+
+    /**
+     * Sets spring used in {@link AnimationMode#SPRING} mode.
+     * @param stiffness    spring stiffness, must be positive
+     * @param dampingRatio damping ratio, 1 for critically damped spring, less for bouncy one
+     */
+    public void setSpring(float stiffness, float dampingRatio) {
+        mStiffness = stiffness;
+        mDampingRatio = dampingRatio;
+    }
+
+    /**
+     * @return spring stiffness
+     */
+    public float getStiffness() {
+        return mStiffness;
+    }
+
+    /**
+     * @return spring damping ratio
+     */
+    public float getDampingRatio() {
+        return mDampingRatio;
+    }
+
+    /**
+     * Sets displacement under which spring is considered at rest.
+     * @param threshold threshold in position units
+     */
+    public void setRestThreshold(float threshold) {
+        mRestThreshold = threshold;
+    }
+
+    /**
+     * Starts animation from given position. Start time is taken from the first frame.
+     * In {@link AnimationMode#RETARGET} and {@link AnimationMode#SPRING} mode running
+     * animation keeps its velocity.
+     * @param from           starting position
+     * @param durationMillis animation duration in milliseconds, 0 to jump to target on first frame
+     * @param easing         easing applied to animation fraction
+     */
+    public void start(float from, long durationMillis, Easing easing) {
+        final boolean retarget = mMode != AnimationMode.RESTART && mRunning;
+
+        // Retargeted animation continues from the frame its position and velocity belong to
+        mStartVelocity = retarget ? mVelocity : 0;
+        mStartTime = retarget ? mLastFrameTime : NOT_STARTED;
+        mLastFrameTime = mStartTime;
+        mVelocity = mStartVelocity;
+        mFrom = from;
+        mValue = from;
+        mDurationNanos = durationMillis * 1000000L;
+        mEasing = easing;
+        mRunning = true;
+    }
+
+    /**
+     * Advances animation to given frame time.
+     * @param frameTimeNanos frame time in nanoseconds
+     * @param target         current target position
+     * @return true if animation continues after this frame, false if it finished or isn't running
+     */
+    public boolean step(long frameTimeNanos, float target) {
+        if (!mRunning) return false;
+        if (mMode == AnimationMode.SPRING) return stepSpring(frameTimeNanos, target);
+        if (mStartTime == NOT_STARTED) mStartTime = frameTimeNanos;
+
+        float fraction = mDurationNanos <= 0 ? 1f :
+                Math.min(1f, (float) (frameTimeNanos - mStartTime) / mDurationNanos);
+
+        if (mMode == AnimationMode.RETARGET) {
+            stepHermite(fraction, target);
+        } else {
+            float previous = mValue;
+            float interpolated = mEasing == null ? fraction : mEasing.ease(fraction);
+            mValue = mFrom + (target - mFrom) * Math.max(interpolated, MIN_FRACTION);
+
+            if (mLastFrameTime != NOT_STARTED && frameTimeNanos > mLastFrameTime)
+                mVelocity = (mValue - previous) / ((frameTimeNanos - mLastFrameTime) / NANOS_PER_MILLI);
+        }
+
+        mLastFrameTime = frameTimeNanos;
+        if (fraction >= 1f) {
+            mValue = target;
+            mVelocity = 0;
+            mRunning = false;
+        }
+
+        return mRunning;
+    }
+
+    //Cubic Hermite from (from, start velocity) to (target, 0), velocity is in units per millisecond
+    private void stepHermite(float t, float target) {
+        final float duration = mDurationNanos / NANOS_PER_MILLI;
+        final float t2 = t * t;
+        final float t3 = t2 * t;
+
+        mValue = (2 * t3 - 3 * t2 + 1) * mFrom + (t3 - 2 * t2 + t) * duration * mStartVelocity
+                + (3 * t2 - 2 * t3) * target;
+        mVelocity = duration <= 0 ? 0 : (6 * t2 - 6 * t) * (mFrom - target) / duration
+                + (3 * t2 - 4 * t + 1) * mStartVelocity;
+    }
+
+    private boolean stepSpring(long frameTimeNanos, float target) {
+        final float dt = mLastFrameTime == NOT_STARTED ? 0 :
+                Math.min(MAX_SPRING_STEP, (frameTimeNanos - mLastFrameTime) / NANOS_PER_SECOND);
+        mLastFrameTime = frameTimeNanos;
+
+        final float x0 = mValue - target;
+        final float v0 = mVelocity * 1000;
+        final double omega = Math.sqrt(mStiffness);
+        final double x, v;
+
+        if (mDampingRatio < 1) {
+            final double decay = mDampingRatio * omega;
+            final double omegaD = omega * Math.sqrt(1 - mDampingRatio * mDampingRatio);
+            final double b = (v0 + decay * x0) / omegaD;
+            final double exp = Math.exp(-decay * dt);
+            final double cos = Math.cos(omegaD * dt);
+            final double sin = Math.sin(omegaD * dt);
+
+            x = exp * (x0 * cos + b * sin);
+            v = exp * ((b * omegaD - decay * x0) * cos - (x0 * omegaD + decay * b) * sin);
+        } else if (mDampingRatio == 1) {
+            final double b = v0 + omega * x0;
+            final double exp = Math.exp(-omega * dt);
+
+            x = (x0 + b * dt) * exp;
+            v = (v0 - omega * b * dt) * exp;
+        } else {
+            final double root = omega * Math.sqrt(mDampingRatio * mDampingRatio - 1);
+            final double r1 = -mDampingRatio * omega + root;
+            final double r2 = -mDampingRatio * omega - root;
+            final double c2 = (v0 - r1 * x0) / (r2 - r1);
+            final double c1 = x0 - c2;
+            final double e1 = Math.exp(r1 * dt);
+            final double e2 = Math.exp(r2 * dt);
+
+            x = c1 * e1 + c2 * e2;
+            v = c1 * r1 * e1 + c2 * r2 * e2;
+        }
+
+        if (Math.abs(x) < mRestThreshold && Math.abs(v) < mRestThreshold * REST_VELOCITY_FACTOR) {
+            mValue = target;
+            mVelocity = 0;
+            mRunning = false;
+        } else {
+            mValue = (float) (target + x);
+            mVelocity = (float) (v / 1000);
+        }
+
+        return mRunning;
+    }
+
+    /**
+     * Stops animation, value stays where last step left it.
+     */
+    public void cancel() {
+        mRunning = false;
+        mVelocity = 0;
+    }
+
+    /**
+     * @return true if animation is in progress
+     */
+    public boolean isRunning() {
+        return mRunning;
+    }
+
+    /**
+     * @return position calculated on last step
+     */
+    public float getValue() {
+        return mValue;
+    }
+
+    /**
+     * @return velocity on last step in position units per millisecond
+     */
+    public float getVelocity() {
+        return mVelocity;
+    }
+}
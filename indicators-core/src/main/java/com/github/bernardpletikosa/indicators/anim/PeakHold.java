@@ -0,0 +1,91 @@
+package com.github.bernardpletikosa.indicators.anim;
+
+/**
+ * Peak hold and decay, like peak marker of audio level meters. Peak follows maximum of offered
+ * values, stays where it is for hold time after it was last reached and then falls at constant
+ * rate until it meets indicated value. Only the peak itself is kept, offering a value and stepping
+ * a frame are O(1) and nothing is scheduled, owner steps peak from its own animation frames.
+ * <p>Values are absolute, shifted so that value range starts at 0. Not thread safe.</p>
+ */
+public class PeakHold {
+
+    private static final float NANOS_PER_SECOND = 1000000000f;
+
+    private long mHoldNanos;
+    private float mDecay;
+
+    private float mPeak;
+    private long mHoldEnd;
+    private boolean mActive;
+
+    /**
+     * @param holdMillis time peak stays in place after it was reached, in milliseconds
+     */
+    public void setHoldTime(long holdMillis) {
+        mHoldNanos = holdMillis * 1000000L;
+    }
+
+    /**
+     * @param decay value units peak falls per second after hold time
+     */
+    public void setDecay(float decay) {
+        mDecay = decay;
+    }
+
+    /**
+     * Offers indicated value, value not lower than current peak becomes peak and restarts hold.
+     * @param value     indicated value
+     * @param timeNanos time of value, same time base as frame times
+     * @return true if peak moved or appeared, false otherwise
+     */
+    public boolean offer(float value, long timeNanos) {
+        if (mActive && value < mPeak) return false;
+
+        final boolean moved = !mActive || value != mPeak;
+        mPeak = value;
+        mHoldEnd = timeNanos + mHoldNanos;
+        mActive = true;
+        return moved;
+    }
+
+    /**
+     * Moves peak to frame time, peak is held until hold time passes and then decays. Peak which
+     * decayed to indicated value disappears.
+     * @param frameTimeNanos frame time
+     * @param floor          indicated value peak can't fall below
+     * @return true while peak is held or decaying and needs further frames, false otherwise
+     */
+    public boolean step(long frameTimeNanos, float floor) {
+        if (!mActive) return false;
+        if (frameTimeNanos <= mHoldEnd) return true;
+
+        mPeak -= mDecay * (frameTimeNanos - mHoldEnd) / NANOS_PER_SECOND;
+        mHoldEnd = frameTimeNanos;
+        if (mPeak > floor) return true;
+
+        mPeak = floor;
+        mActive = false;
+        return false;
+    }
+
+    /**
+     * Removes peak.
+     */
+    public void reset() {
+        mActive = false;
+    }
+
+    /**
+     * @return true if there is a held or decaying peak, false otherwise
+     */
+    public boolean isActive() {
+        return mActive;
+    }
+
+    /**
+     * @return peak value, meaningful only while {@link #isActive()}
+     */
+    public float getPeak() {
+        return mPeak;
+    }
+}
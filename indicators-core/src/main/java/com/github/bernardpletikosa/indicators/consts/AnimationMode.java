@@ -0,0 +1,5 @@
+package com.github.bernardpletikosa.indicators.consts;
+
+public enum AnimationMode {
+    RESTART, RETARGET, SPRING
+}
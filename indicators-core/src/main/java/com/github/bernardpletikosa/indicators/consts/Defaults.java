@@ -7,6 +7,13 @@ public class Defaults {
     public static final int DEFAULT_MIN_VALUE = 0;
     public static final int DEFAULT_MAX_VALUE = 100;
     public static final int DEFAULT_ANIM_DURATION = 500;
+    public static final int DEFAULT_TEXT_SIZE = 100;
+    public static final float DEFAULT_SPRING_STIFFNESS = 200f;
+    public static final float DEFAULT_SPRING_DAMPING_RATIO = 1f;
+    public static final float DEFAULT_REST_THRESHOLD = 0.5f;
+    public static final int DEFAULT_SPARKLINE_CAPACITY = 64;
+    public static final int DEFAULT_PEAK_HOLD_TIME = 1000;
+    public static final int DEFAULT_TIME_SERIES_MAX_SAMPLES = 1 << 18;
 
     public static final int PIE_MAX_ANGLE = 360;
     public static final int HALF_PIE_MAX_ANGLE = 180;
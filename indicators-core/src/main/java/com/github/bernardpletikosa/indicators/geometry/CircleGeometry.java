@@ -0,0 +1,33 @@
+package com.github.bernardpletikosa.indicators.geometry;
+
+/**
+ * Circle indicator geometry, value is drawn as radius of inner circle.
+ */
+public class CircleGeometry extends IndicatorGeometry {
+
+    private float mRadius;
+
+    /**
+     * @param radius outer circle radius
+     */
+    public void setRadius(float radius) {
+        mRadius = radius;
+    }
+
+    /**
+     * @return outer circle radius
+     */
+    public float getRadius() {
+        return mRadius;
+    }
+
+    @Override
+    public float positionOf(float absoluteValue, float valueRange) {
+        return (absoluteValue / valueRange) * mRadius;
+    }
+
+    @Override
+    public float valueAt(float position, float valueRange) {
+        return position / mRadius * valueRange;
+    }
+}
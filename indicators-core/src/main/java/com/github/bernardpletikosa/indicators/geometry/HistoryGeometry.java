@@ -0,0 +1,48 @@
+package com.github.bernardpletikosa.indicators.geometry;
+
+/**
+ * Geometry of indicators drawing value history, value is drawn as height above bottom edge and
+ * history is spread over width, the newest value at the right edge. Subclasses map history to
+ * x coordinates.
+ */
+public class HistoryGeometry extends IndicatorGeometry {
+
+    private float mWidth;
+    private float mHeight;
+
+    /**
+     * @param width  drawing width
+     * @param height drawing height
+     */
+    public void set(float width, float height) {
+        mWidth = width;
+        mHeight = height;
+    }
+
+    /**
+     * @return drawing width
+     */
+    public float getWidth() {
+        return mWidth;
+    }
+
+    /**
+     * @param absoluteValue value shifted so that range starts at 0
+     * @param valueRange    size of value range
+     * @return y coordinate of value, clamped to drawing height
+     */
+    public float yOf(float absoluteValue, float valueRange) {
+        final float position = positionOf(absoluteValue, valueRange);
+        return mHeight - (position < 0 ? 0 : position > mHeight ? mHeight : position);
+    }
+
+    @Override
+    public float positionOf(float absoluteValue, float valueRange) {
+        return (absoluteValue / valueRange) * mHeight;
+    }
+
+    @Override
+    public float valueAt(float position, float valueRange) {
+        return position / mHeight * valueRange;
+    }
+}
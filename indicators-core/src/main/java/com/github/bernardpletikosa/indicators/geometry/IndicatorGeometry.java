@@ -0,0 +1,24 @@
+package com.github.bernardpletikosa.indicators.geometry;
+
+/**
+ * Maps indicator values to drawn position (radius, length, angle...) and back. Geometry
+ * models don't depend on Android, views keep them in sync with their size and direction and
+ * delegate all value math to them.
+ * <p>Values are absolute, shifted so that value range starts at 0.</p>
+ */
+public abstract class IndicatorGeometry {
+
+    /**
+     * @param absoluteValue value shifted so that range starts at 0
+     * @param valueRange    size of value range
+     * @return drawn position of value
+     */
+    public abstract float positionOf(float absoluteValue, float valueRange);
+
+    /**
+     * @param position   drawn position
+     * @param valueRange size of value range
+     * @return absolute value drawn at position
+     */
+    public abstract float valueAt(float position, float valueRange);
+}
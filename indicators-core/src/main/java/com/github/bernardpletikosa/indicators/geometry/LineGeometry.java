@@ -0,0 +1,64 @@
+package com.github.bernardpletikosa.indicators.geometry;
+
+import com.github.bernardpletikosa.indicators.consts.Direction;
+
+/**
+ * Line indicator geometry, value is drawn as length of the line measured from its top left
+ * corner. For {@link Direction#RIGHT_LEFT} and {@link Direction#BOTTOM_TOP} line drawn position
+ * is where indication starts, so it shrinks as value grows.
+ */
+public class LineGeometry extends IndicatorGeometry {
+
+    private float mWidth;
+    private float mHeight;
+    private Direction mDirection = Direction.LEFT_RIGHT;
+
+    /**
+     * @param width     line width
+     * @param height    line height
+     * @param direction one of {@link Direction#LEFT_RIGHT}, {@link Direction#RIGHT_LEFT},
+     *                  {@link Direction#TOP_BOTTOM}, {@link Direction#BOTTOM_TOP}
+     */
+    public void set(float width, float height, Direction direction) {
+        mWidth = width;
+        mHeight = height;
+        mDirection = direction;
+    }
+
+    /**
+     * @return line direction
+     */
+    public Direction getDirection() {
+        return mDirection;
+    }
+
+    @Override
+    public float positionOf(float absoluteValue, float valueRange) {
+        switch (mDirection) {
+            case LEFT_RIGHT:
+                return (absoluteValue / valueRange) * mWidth;
+            case RIGHT_LEFT:
+                return ((valueRange - absoluteValue) / valueRange) * mWidth;
+            case TOP_BOTTOM:
+                return (absoluteValue / valueRange) * mHeight;
+            case BOTTOM_TOP:
+                return ((valueRange - absoluteValue) / valueRange) * mHeight;
+        }
+        return 0;
+    }
+
+    @Override
+    public float valueAt(float position, float valueRange) {
+        switch (mDirection) {
+            case LEFT_RIGHT:
+                return position / mWidth * valueRange;
+            case RIGHT_LEFT:
+                return (1 - position / mWidth) * valueRange;
+            case TOP_BOTTOM:
+                return position / mHeight * valueRange;
+            case BOTTOM_TOP:
+            default:
+                return (1 - position / mHeight) * valueRange;
+        }
+    }
+}
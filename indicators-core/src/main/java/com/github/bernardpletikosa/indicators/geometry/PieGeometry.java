@@ -0,0 +1,61 @@
+package com.github.bernardpletikosa.indicators.geometry;
+
+import com.github.bernardpletikosa.indicators.consts.Defaults;
+import com.github.bernardpletikosa.indicators.consts.Direction;
+
+/**
+ * Pie indicator geometry, value is drawn as angle of the arc. Same model serves full, half and
+ * quarter pie through maximal angle.
+ */
+public class PieGeometry extends IndicatorGeometry {
+
+    private int mMaxAngle = Defaults.PIE_MAX_ANGLE;
+    private Direction mDirection = Direction.CLOCKWISE;
+
+    /**
+     * @param maxAngle angle of whole indicator, for example
+     *                 {@link Defaults#HALF_PIE_MAX_ANGLE} for half pie
+     */
+    public void setMaxAngle(int maxAngle) {
+        mMaxAngle = maxAngle;
+    }
+
+    /**
+     * @param direction {@link Direction#CLOCKWISE} or {@link Direction#COUNTER_CLOCKWISE}
+     */
+    public void setDirection(Direction direction) {
+        mDirection = direction;
+    }
+
+    /**
+     * @return angle of whole indicator
+     */
+    public int getMaxAngle() {
+        return mMaxAngle;
+    }
+
+    /**
+     * @return arc direction
+     */
+    public Direction getDirection() {
+        return mDirection;
+    }
+
+    @Override
+    public float positionOf(float absoluteValue, float valueRange) {
+        return (absoluteValue / valueRange) * mMaxAngle;
+    }
+
+    @Override
+    public float valueAt(float angle, float valueRange) {
+        return angle / mMaxAngle * valueRange;
+    }
+
+    /**
+     * @param angle drawn angle
+     * @return sweep angle for drawing, negative for counter clockwise direction
+     */
+    public float sweepOf(float angle) {
+        return mDirection == Direction.CLOCKWISE ? angle : -angle;
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.bernardpletikosa.indicators.geometry;
+
+/**
+ * Sparkline indicator geometry, samples are spread evenly over width, the newest one at the
+ * right edge.
+ */
+public class SparklineGeometry extends HistoryGeometry {
+
+    private int mCapacity;
+
+    /**
+     * @param capacity number of samples spread over width
+     */
+    public void setCapacity(int capacity) {
+        mCapacity = capacity;
+    }
+
+    /**
+     * @return horizontal distance between two samples
+     */
+    public float getStep() {
+        return mCapacity > 1 ? getWidth() / (mCapacity - 1) : 0;
+    }
+}
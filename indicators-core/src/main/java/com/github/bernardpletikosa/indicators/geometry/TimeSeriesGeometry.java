@@ -0,0 +1,17 @@
+package com.github.bernardpletikosa.indicators.geometry;
+
+/**
+ * Time series indicator geometry, time span of the series is stretched over width, the newest
+ * sample at the right edge.
+ */
+public class TimeSeriesGeometry extends HistoryGeometry {
+
+    /**
+     * @param time     time passed since the first sample
+     * @param timeSpan time between the first and the last sample
+     * @return x coordinate of time
+     */
+    public float xOf(long time, long timeSpan) {
+        return timeSpan > 0 ? (float) ((double) time / timeSpan * getWidth()) : getWidth();
+    }
+}
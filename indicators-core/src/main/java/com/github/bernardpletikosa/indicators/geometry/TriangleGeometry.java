@@ -0,0 +1,57 @@
+package com.github.bernardpletikosa.indicators.geometry;
+
+import com.github.bernardpletikosa.indicators.consts.Direction;
+
+/**
+ * Triangle indicator geometry, value is drawn as horizontal length of the triangle. For
+ * {@link Direction#RIGHT_LEFT} triangle drawn position is the part not indicated, so it
+ * shrinks as value grows.
+ */
+public class TriangleGeometry extends IndicatorGeometry {
+
+    private float mWidth;
+    private float mHeight;
+    private Direction mDirection = Direction.LEFT_RIGHT;
+
+    /**
+     * @param width     triangle width
+     * @param height    triangle height
+     * @param direction {@link Direction#LEFT_RIGHT} or {@link Direction#RIGHT_LEFT}
+     */
+    public void set(float width, float height, Direction direction) {
+        mWidth = width;
+        mHeight = height;
+        mDirection = direction;
+    }
+
+    /**
+     * @return triangle direction
+     */
+    public Direction getDirection() {
+        return mDirection;
+    }
+
+    @Override
+    public float positionOf(float absoluteValue, float valueRange) {
+        switch (mDirection) {
+            case LEFT_RIGHT:
+                return (absoluteValue / valueRange) * mWidth;
+            case RIGHT_LEFT:
+                return ((valueRange - absoluteValue) / valueRange) * mWidth;
+        }
+        return 0;
+    }
+
+    @Override
+    public float valueAt(float position, float valueRange) {
+        return (mDirection == Direction.LEFT_RIGHT ? position / mWidth : 1 - position / mWidth) * valueRange;
+    }
+
+    /**
+     * @param position drawn position
+     * @return distance from top of triangle bounds to its slope at drawn position
+     */
+    public float topAt(float position) {
+        return mHeight * (1 - position / mWidth);
+    }
+}
@@ -0,0 +1,135 @@
+package com.github.bernardpletikosa.indicators.metrics;
+
+/**
+ * Fixed size histogram of non-negative long values with power of two buckets. Bucket 0 holds
+ * value 0 and bucket {@code i} holds values in {@code [2^(i-1), 2^i)}, values over the last
+ * bucket are counted in it. Recording doesn't allocate.
+ * <p>Histogram is not thread safe.</p>
+ */
+public class Histogram {
+
+    /**
+     * Number of buckets, last bucket starts at 2^38 which is about 275 seconds in nanoseconds.
+     */
+    public static final int BUCKET_COUNT = 40;
+
+    private final long[] mCounts = new long[BUCKET_COUNT];
+    private long mCount;
+    private long mSum;
+    private long mMin = Long.MAX_VALUE;
+    private long mMax;
+
+    /**
+     * @param value value to record, negative values are recorded as 0
+     */
+    public void record(long value) {
+        if (value < 0) value = 0;
+
+        mCounts[bucketOf(value)]++;
+        mCount++;
+        mSum += value;
+        if (value < mMin) mMin = value;
+        if (value > mMax) mMax = value;
+    }
+
+    /**
+     * @param value value
+     * @return index of bucket value is counted in
+     */
+    public static int bucketOf(long value) {
+        return value <= 0 ? 0 : Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(value));
+    }
+
+    /**
+     * @param bucket bucket index
+     * @return largest value counted in bucket
+     */
+    public static long getBucketUpperBound(int bucket) {
+        return bucket == BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    /**
+     * @param bucket bucket index
+     * @return number of values counted in bucket
+     */
+    public long getCount(int bucket) {
+        return mCounts[bucket];
+    }
+
+    /**
+     * @return number of recorded values
+     */
+    public long getCount() {
+        return mCount;
+    }
+
+    /**
+     * @return sum of recorded values
+     */
+    public long getSum() {
+        return mSum;
+    }
+
+    /**
+     * @return smallest recorded value, 0 if nothing is recorded
+     */
+    public long getMin() {
+        return mCount == 0 ? 0 : mMin;
+    }
+
+    /**
+     * @return largest recorded value
+     */
+    public long getMax() {
+        return mMax;
+    }
+
+    /**
+     * @return mean of recorded values, 0 if nothing is recorded
+     */
+    public double getMean() {
+        return mCount == 0 ? 0 : (double) mSum / mCount;
+    }
+
+    /**
+     * Returns upper estimate of percentile, precise to bucket size and never above largest
+     * recorded value.
+     * @param percentile percentile [0, 100]
+     * @return upper bound of bucket holding percentile, 0 if nothing is recorded
+     */
+    public long getPercentile(double percentile) {
+        if (mCount == 0) return 0;
+
+        long rank = (long) Math.ceil(percentile / 100 * mCount);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += mCounts[i];
+            if (seen >= rank && seen > 0) return Math.min(getBucketUpperBound(i), mMax);
+        }
+
+        return mMax;
+    }
+
+    /**
+     * Copies recorded values into other histogram without allocating.
+     * @param other histogram to overwrite
+     */
+    public void copyTo(Histogram other) {
+        System.arraycopy(mCounts, 0, other.mCounts, 0, BUCKET_COUNT);
+        other.mCount = mCount;
+        other.mSum = mSum;
+        other.mMin = mMin;
+        other.mMax = mMax;
+    }
+
+    /**
+     * Clears all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) mCounts[i] = 0;
+        mCount = 0;
+        mSum = 0;
+        mMin = Long.MAX_VALUE;
+        mMax = 0;
+    }
+}
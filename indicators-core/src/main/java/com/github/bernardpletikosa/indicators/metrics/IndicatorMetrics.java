@@ -0,0 +1,133 @@
+package com.github.bernardpletikosa.indicators.metrics;
+
+/**
+ * Frame timing metrics of one indicator: draw and measure durations, latency from animation
+ * update to the draw showing it, frames drawn per animation and animation counters.
+ * Durations are in nanoseconds. Recording doesn't allocate.
+ * <p>Metrics are recorded on the main thread, read and reset them there too or work on a copy
+ * taken with {@link #snapshot()}.</p>
+ */
+public class IndicatorMetrics {
+
+    private final Histogram mDraw = new Histogram();
+    private final Histogram mMeasure = new Histogram();
+    private final Histogram mUpdateToDraw = new Histogram();
+    private final Histogram mFramesPerAnimation = new Histogram();
+    private long mAnimations;
+    private long mCancelled;
+    private long mRestarted;
+
+    public void recordDraw(long durationNanos) {
+        mDraw.record(durationNanos);
+    }
+
+    public void recordMeasure(long durationNanos) {
+        mMeasure.record(durationNanos);
+    }
+
+    public void recordUpdateToDraw(long latencyNanos) {
+        mUpdateToDraw.record(latencyNanos);
+    }
+
+    /**
+     * Records animation which ended, was cancelled or restarted.
+     * @param framesDrawn number of frames drawn while animation was running
+     */
+    public void recordAnimation(int framesDrawn) {
+        mFramesPerAnimation.record(framesDrawn);
+        mAnimations++;
+    }
+
+    public void recordCancel() {
+        mCancelled++;
+    }
+
+    public void recordRestart() {
+        mRestarted++;
+    }
+
+    /**
+     * @return durations of indicator draws
+     */
+    public Histogram getDrawTimes() {
+        return mDraw;
+    }
+
+    /**
+     * @return durations of indicator measures
+     */
+    public Histogram getMeasureTimes() {
+        return mMeasure;
+    }
+
+    /**
+     * @return time from animation step changing value to draw showing it
+     */
+    public Histogram getUpdateToDrawLatencies() {
+        return mUpdateToDraw;
+    }
+
+    /**
+     * @return number of frames drawn per animation
+     */
+    public Histogram getFramesPerAnimation() {
+        return mFramesPerAnimation;
+    }
+
+    /**
+     * @return number of recorded animations, including cancelled and restarted ones
+     */
+    public long getAnimationCount() {
+        return mAnimations;
+    }
+
+    /**
+     * @return number of animations cancelled before reaching target
+     */
+    public long getCancelledCount() {
+        return mCancelled;
+    }
+
+    /**
+     * @return number of animations restarted or retargeted by new target value
+     */
+    public long getRestartedCount() {
+        return mRestarted;
+    }
+
+    /**
+     * @return independent copy of current metrics
+     */
+    public IndicatorMetrics snapshot() {
+        IndicatorMetrics snapshot = new IndicatorMetrics();
+        snapshot(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Copies current metrics into given instance without allocating.
+     * @param into metrics to overwrite
+     */
+    public void snapshot(IndicatorMetrics into) {
+        mDraw.copyTo(into.mDraw);
+        mMeasure.copyTo(into.mMeasure);
+        mUpdateToDraw.copyTo(into.mUpdateToDraw);
+        mFramesPerAnimation.copyTo(into.mFramesPerAnimation);
+        into.mAnimations = mAnimations;
+        into.mCancelled = mCancelled;
+        into.mRestarted = mRestarted;
+    }
+
+    /**
+     * Clears all metrics.
+     */
+    public void reset() {
+        mDraw.reset();
+        mMeasure.reset();
+        mUpdateToDraw.reset();
+        mFramesPerAnimation.reset();
+        mAnimations = 0;
+        mCancelled = 0;
+        mRestarted = 0;
+    }
+}
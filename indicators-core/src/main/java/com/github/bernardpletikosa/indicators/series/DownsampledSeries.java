@@ -0,0 +1,250 @@
+package com.github.bernardpletikosa.indicators.series;
+
+import java.util.Arrays;
+
+import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_TIME_SERIES_MAX_SAMPLES;
+
+/**
+ * Time series stored in primitive arrays and downsampled with Largest-Triangle-Three-Buckets to
+ * at most {@link #getMaxPoints()} points.
+ * <p>Samples are split into buckets of power of two size aligned to the first sample. Bucket
+ * averages are kept as running sums, so appending is O(1). When buckets run out bucket size is
+ * doubled by merging neighbouring sums. LTTB pick of a bucket depends only on the pick before it
+ * and the average of the bucket after it, so picks of buckets followed by a full bucket never
+ * change and {@link #downsample(int[])} only computes new ones. Downsampling cost follows the
+ * number of points, not the number of samples, except for one full pass after bucket size
+ * changes.</p>
+ * <p>At most {@link #getMaxSamples()} samples are kept. When series is full the older half of
+ * samples is dropped at once, so trimming is amortized O(1) per appended sample.</p>
+ * <p>Not thread safe.</p>
+ */
+public class DownsampledSeries {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private long[] mTimes = new long[INITIAL_CAPACITY];
+    private float[] mValues = new float[INITIAL_CAPACITY];
+    private int mSize;
+    private int mMaxSamples = DEFAULT_TIME_SERIES_MAX_SAMPLES;
+
+    private int mMaxBuckets;
+    private int mBucketShift;
+    private double[] mTimeSums;
+    private double[] mValueSums;
+    private int[] mPicks;
+    // Buckets [0, mFinalPicks) have final picks
+    private int mFinalPicks;
+
+    /**
+     * @param maxBuckets maximal number of buckets, at least 1
+     */
+    public DownsampledSeries(int maxBuckets) {
+        setMaxBuckets(maxBuckets);
+    }
+
+    /**
+     * Appends sample to the end of series.
+     * @param time  sample time, not before time of last sample
+     * @param value sample value
+     */
+    public void append(long time, float value) throws IllegalArgumentException {
+        if (mSize > 0 && time < mTimes[mSize - 1])
+            throw new IllegalArgumentException("Sample time can't be before time of last sample.");
+
+        if (mSize == mMaxSamples) dropOlderHalf();
+        if (mSize == mTimes.length) {
+            final int capacity = Math.min(mSize * 2, mMaxSamples);
+            mTimes = Arrays.copyOf(mTimes, capacity);
+            mValues = Arrays.copyOf(mValues, capacity);
+        }
+
+        final int index = mSize++;
+        mTimes[index] = time;
+        mValues[index] = value;
+
+        if ((index >> mBucketShift) == mMaxBuckets) mergeBuckets();
+        final int bucket = index >> mBucketShift;
+        mTimeSums[bucket] += time - mTimes[0];
+        mValueSums[bucket] += value;
+    }
+
+    /**
+     * Removes all samples, storage is kept.
+     */
+    public void clear() {
+        mSize = 0;
+        mBucketShift = 0;
+        mFinalPicks = 0;
+        Arrays.fill(mTimeSums, 0);
+        Arrays.fill(mValueSums, 0);
+    }
+
+    /**
+     * Sets maximal number of buckets and rebuilds them, usually when drawing width changes.
+     * @param maxBuckets maximal number of buckets, at least 1
+     */
+    public void setMaxBuckets(int maxBuckets) throws IllegalArgumentException {
+        if (maxBuckets < 1)
+            throw new IllegalArgumentException("Argument max buckets can't be less than 1.");
+
+        mMaxBuckets = maxBuckets;
+        mTimeSums = new double[maxBuckets];
+        mValueSums = new double[maxBuckets];
+        mPicks = new int[maxBuckets];
+
+        rebuildBuckets();
+    }
+
+    /**
+     * Sets maximal number of kept samples. When series is full the older half of samples is
+     * dropped. Default is 262144, over 7 hours of 10 Hz samples.
+     * @param maxSamples maximal number of samples, at least 2
+     */
+    public void setMaxSamples(int maxSamples) throws IllegalArgumentException {
+        if (maxSamples < 2)
+            throw new IllegalArgumentException("Argument max samples can't be less than 2.");
+
+        mMaxSamples = maxSamples;
+        if (mSize > maxSamples) drop(mSize - maxSamples);
+        if (mTimes.length > maxSamples) {
+            mTimes = Arrays.copyOf(mTimes, maxSamples);
+            mValues = Arrays.copyOf(mValues, maxSamples);
+        }
+    }
+
+    /**
+     * @return maximal number of kept samples
+     */
+    public int getMaxSamples() {
+        return mMaxSamples;
+    }
+
+    private void dropOlderHalf() {
+        drop(mSize / 2);
+    }
+
+    private void drop(int count) {
+        mSize -= count;
+        System.arraycopy(mTimes, count, mTimes, 0, mSize);
+        System.arraycopy(mValues, count, mValues, 0, mSize);
+        rebuildBuckets();
+    }
+
+    // Sums are relative to the first sample, so they are rebuilt whenever it changes
+    private void rebuildBuckets() {
+        Arrays.fill(mTimeSums, 0);
+        Arrays.fill(mValueSums, 0);
+
+        mBucketShift = 0;
+        while (mSize > 0 && ((mSize - 1) >> mBucketShift) >= mMaxBuckets) mBucketShift++;
+        for (int i = 0; i < mSize; i++) {
+            mTimeSums[i >> mBucketShift] += mTimes[i] - mTimes[0];
+            mValueSums[i >> mBucketShift] += mValues[i];
+        }
+        mFinalPicks = 0;
+    }
+
+    /**
+     * Writes indices of downsampled points in time order, first and last sample are always
+     * included.
+     * @param indices array of at least {@link #getMaxPoints()} length
+     * @return number of written indices
+     */
+    public int downsample(int[] indices) {
+        if (mSize == 0) return 0;
+
+        int count = 0;
+        indices[count++] = 0;
+        if (mSize == 1) return count;
+
+        // Last bucket is never complete and is represented by the last sample only
+        final int last = bucketCount() - 1;
+        final int stable = last - 1;
+        for (int bucket = mFinalPicks; bucket < last; bucket++) {
+            mPicks[bucket] = pick(bucket);
+            if (bucket < stable) mFinalPicks = bucket + 1;
+        }
+
+        for (int bucket = 0; bucket < last; bucket++)
+            if (mPicks[bucket] > 0) indices[count++] = mPicks[bucket];
+
+        indices[count++] = mSize - 1;
+        return count;
+    }
+
+    /**
+     * @return maximal number of indices written by {@link #downsample(int[])}
+     */
+    public int getMaxPoints() {
+        return mMaxBuckets + 1;
+    }
+
+    /**
+     * @return number of samples
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * @return number of samples in one bucket, power of two
+     */
+    public int getBucketSize() {
+        return 1 << mBucketShift;
+    }
+
+    public long getTime(int index) {
+        return mTimes[index];
+    }
+
+    public float getValue(int index) {
+        return mValues[index];
+    }
+
+    private int bucketCount() {
+        return ((mSize - 1) >> mBucketShift) + 1;
+    }
+
+    private void mergeBuckets() {
+        final int merged = (mMaxBuckets + 1) / 2;
+        for (int i = 0; i < merged; i++) {
+            final int second = 2 * i + 1;
+            mTimeSums[i] = mTimeSums[2 * i] + (second < mMaxBuckets ? mTimeSums[second] : 0);
+            mValueSums[i] = mValueSums[2 * i] + (second < mMaxBuckets ? mValueSums[second] : 0);
+        }
+        Arrays.fill(mTimeSums, merged, mMaxBuckets, 0);
+        Arrays.fill(mValueSums, merged, mMaxBuckets, 0);
+        mBucketShift++;
+        mFinalPicks = 0;
+    }
+
+    // Sample of bucket forming the largest triangle with previous pick and next bucket average,
+    // 0 when bucket has no sample other than the first one
+    private int pick(int bucket) {
+        final int start = Math.max(bucket << mBucketShift, 1);
+        final int end = Math.min((bucket + 1) << mBucketShift, mSize);
+        if (start >= end) return 0;
+
+        final int previous = bucket > 0 ? mPicks[bucket - 1] : 0;
+        final long origin = mTimes[0];
+        final double previousTime = mTimes[previous] - origin;
+        final double previousValue = mValues[previous];
+
+        final int next = bucket + 1;
+        final int nextCount = Math.min((next + 1) << mBucketShift, mSize) - (next << mBucketShift);
+        final double nextTime = mTimeSums[next] / nextCount;
+        final double nextValue = mValueSums[next] / nextCount;
+
+        int picked = start;
+        double maxArea = -1;
+        for (int i = start; i < end; i++) {
+            final double area = Math.abs((previousTime - nextTime) * (mValues[i] - previousValue)
+                    - (previousTime - (mTimes[i] - origin)) * (nextValue - previousValue));
+            if (area > maxArea) {
+                maxArea = area;
+                picked = i;
+            }
+        }
+        return picked;
+    }
+}
@@ -0,0 +1,148 @@
+package com.github.bernardpletikosa.indicators.text;
+
+import java.text.DecimalFormatSymbols;
+
+/**
+ * Formats indicator values into a reusable char buffer as prefix, value and suffix.
+ * Once prefix and suffix are set formatting does not allocate, so it is safe to call on
+ * every animation frame.
+ * <p>Output matches former {@code prefix + (int) value + suffix} for integer values and
+ * {@code String.format("%.2f", new BigDecimal(value).setScale(2, RoundingMode.HALF_EVEN))}
+ * for decimal values, using locale symbols captured when formatter is created.</p>
+ */
+public class ValueFormatter {
+
+    // Sign, 19 digits of long and decimal separator
+    private static final int MAX_VALUE_LENGTH = 21;
+    private static final char[] EMPTY = new char[0];
+
+    private final char mDecimalSeparator;
+    private final char mZeroDigit;
+
+    private char[] mBuffer;
+    private char[] mSuffix = EMPTY;
+    private int mPrefixLength;
+    private int mLength;
+
+    public ValueFormatter() {
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance();
+        mDecimalSeparator = symbols.getDecimalSeparator();
+        mZeroDigit = symbols.getZeroDigit();
+        mBuffer = new char[MAX_VALUE_LENGTH];
+    }
+
+    /**
+     * Sets text written before every formatted value.
+     * @param prefix text prefix, can't be null
+     */
+    public void setPrefix(String prefix) {
+        char[] buffer = new char[prefix.length() + MAX_VALUE_LENGTH + mSuffix.length];
+        prefix.getChars(0, prefix.length(), buffer, 0);
+
+        mBuffer = buffer;
+        mPrefixLength = prefix.length();
+        mLength = 0;
+    }
+
+    /**
+     * Sets text written after every formatted value.
+     * @param suffix text suffix, can't be null
+     */
+    public void setSuffix(String suffix) {
+        mSuffix = suffix.toCharArray();
+
+        char[] buffer = new char[mPrefixLength + MAX_VALUE_LENGTH + mSuffix.length];
+        System.arraycopy(mBuffer, 0, buffer, 0, mPrefixLength);
+
+        mBuffer = buffer;
+        mLength = 0;
+    }
+
+    /**
+     * Writes prefix, value and suffix into the buffer returned by {@link #getBuffer()}.
+     * @param value   value to format
+     * @param decimal true to write value rounded to two decimals, false to write integer part only
+     * @return number of chars written
+     */
+    public int format(float value, boolean decimal) {
+        int pos;
+        if (decimal) {
+            // float * 100 is exact in double, so rint gives the same HALF_EVEN result as BigDecimal
+            pos = writeDecimal((long) Math.rint(value * 100d));
+        } else {
+            pos = writeInteger((int) value);
+        }
+
+        System.arraycopy(mSuffix, 0, mBuffer, pos, mSuffix.length);
+        mLength = pos + mSuffix.length;
+        return mLength;
+    }
+
+    /**
+     * @return buffer holding last formatted text, valid until next call to setter methods
+     */
+    public char[] getBuffer() {
+        return mBuffer;
+    }
+
+    /**
+     * @return number of chars written by last {@link #format(float, boolean)} call
+     */
+    public int getLength() {
+        return mLength;
+    }
+
+    /**
+     * @return number of prefix chars at the start of the buffer
+     */
+    public int getPrefixLength() {
+        return mPrefixLength;
+    }
+
+    /**
+     * @return number of suffix chars at the end of formatted text
+     */
+    public int getSuffixLength() {
+        return mSuffix.length;
+    }
+
+    private int writeInteger(int value) {
+        int pos = mPrefixLength;
+        long abs = value;
+        if (abs < 0) {
+            mBuffer[pos++] = '-';
+            abs = -abs;
+        }
+
+        return writeDigits(abs, pos, '0');
+    }
+
+    private int writeDecimal(long scaled) {
+        int pos = mPrefixLength;
+        if (scaled == Long.MIN_VALUE) scaled++;
+        if (scaled < 0) {
+            mBuffer[pos++] = '-';
+            scaled = -scaled;
+        }
+
+        pos = writeDigits(scaled / 100, pos, mZeroDigit);
+        mBuffer[pos++] = mDecimalSeparator;
+        mBuffer[pos++] = (char) (mZeroDigit + (scaled % 100) / 10);
+        mBuffer[pos++] = (char) (mZeroDigit + scaled % 10);
+        return pos;
+    }
+
+    //Writes at least one digit of non-negative value, returns position after last digit
+    private int writeDigits(long value, int pos, char zero) {
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) digits++;
+
+        int end = pos + digits;
+        for (int i = end - 1; i >= pos; i--) {
+            mBuffer[i] = (char) (zero + value % 10);
+            value /= 10;
+        }
+
+        return end;
+    }
+}
@@ -0,0 +1,166 @@
+package com.github.bernardpletikosa.indicators.anim;
+
+import com.github.bernardpletikosa.indicators.consts.AnimationMode;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IndicatorAnimationTest {
+
+    private static final long FRAME_NANOS = 16000000L;
+    private static final long START_NANOS = 1000000000L;
+    private static final int MAX_FRAMES = 1000;
+    private static final float TARGET = 100f;
+    private static final float REST_THRESHOLD = 0.01f;
+
+    @Test
+    public void springRestsAtTargetForAllDampingRatios() {
+        for (float dampingRatio : new float[]{0.2f, 0.5f, 1f, 2f}) {
+            IndicatorAnimation animation = spring(dampingRatio);
+            int frames = runToEnd(animation, START_NANOS, TARGET);
+
+            assertTrue("damping " + dampingRatio + " never rested", frames < MAX_FRAMES);
+            assertTrue("damping " + dampingRatio + " rested on first frames", frames > 2);
+            assertEquals(TARGET, animation.getValue(), 0);
+            assertEquals(0, animation.getVelocity(), 0);
+            assertFalse(animation.isRunning());
+        }
+    }
+
+    @Test
+    public void springDoesNotRestWhilePassingTargetFast() {
+        IndicatorAnimation animation = spring(0.2f);
+        long time = START_NANOS;
+        float previous = 0;
+
+        // Underdamped spring crosses target at full speed, rest needs small velocity as well
+        for (int i = 0; i < MAX_FRAMES && animation.step(time, TARGET); i++, time += FRAME_NANOS) {
+            if (previous < TARGET && animation.getValue() >= TARGET) {
+                assertTrue(animation.isRunning());
+                assertTrue(Math.abs(animation.getVelocity()) > REST_THRESHOLD);
+                return;
+            }
+            previous = animation.getValue();
+        }
+        throw new AssertionError("Spring never crossed target.");
+    }
+
+    @Test
+    public void underdampedSpringOvershootsAndCriticalDoesNot() {
+        assertTrue(maxValue(spring(0.2f)) > TARGET);
+        assertTrue(maxValue(spring(1f)) <= TARGET);
+        assertTrue(maxValue(spring(2f)) <= TARGET);
+    }
+
+    @Test
+    public void springRetargetKeepsVelocity() {
+        IndicatorAnimation animation = spring(1f);
+        long time = START_NANOS;
+        for (int i = 0; i < 10; i++, time += FRAME_NANOS) animation.step(time, TARGET);
+
+        float velocity = animation.getVelocity();
+        float value = animation.getValue();
+        assertTrue(velocity > 0);
+
+        animation.start(value, 0, null);
+        assertEquals(velocity, animation.getVelocity(), 0);
+        assertEquals(value, animation.getValue(), 0);
+
+        runToEnd(animation, time, 2 * TARGET);
+        assertEquals(2 * TARGET, animation.getValue(), 0);
+    }
+
+    @Test
+    public void springStallIsClamped() {
+        IndicatorAnimation animation = spring(1f);
+        animation.step(START_NANOS, TARGET);
+        animation.step(START_NANOS + 10000000000L, TARGET);
+
+        // Ten seconds long frame is stepped as one short step, spring doesn't jump to target
+        assertTrue(animation.isRunning());
+        assertTrue(animation.getValue() < TARGET);
+    }
+
+    @Test
+    public void hermiteReachesTargetAtRestAfterDuration() {
+        IndicatorAnimation animation = new IndicatorAnimation();
+        animation.setMode(AnimationMode.RETARGET);
+        animation.start(0, 320, null);
+
+        assertEquals(21, runToEnd(animation, START_NANOS, TARGET));
+        assertEquals(TARGET, animation.getValue(), 0);
+        assertEquals(0, animation.getVelocity(), 0);
+    }
+
+    @Test
+    public void hermiteRetargetIsContinuousInValueAndVelocity() {
+        IndicatorAnimation animation = new IndicatorAnimation();
+        animation.setMode(AnimationMode.RETARGET);
+        animation.start(0, 320, null);
+
+        long time = START_NANOS;
+        for (int i = 0; i < 8; i++, time += FRAME_NANOS) animation.step(time, TARGET);
+        final float value = animation.getValue();
+        final float velocity = animation.getVelocity();
+
+        animation.start(value, 320, null);
+        // Retargeted curve starts at last frame, stepping it again gives the same state
+        animation.step(time - FRAME_NANOS, 2 * TARGET);
+        assertEquals(value, animation.getValue(), 1e-3f);
+        assertEquals(velocity, animation.getVelocity(), 1e-5f);
+
+        runToEnd(animation, time, 2 * TARGET);
+        assertEquals(2 * TARGET, animation.getValue(), 0);
+    }
+
+    @Test
+    public void restartEasesFromRestAndEndsAtTarget() {
+        IndicatorAnimation animation = new IndicatorAnimation();
+        animation.start(0, 320, new Easing() {
+            @Override
+            public float ease(float fraction) {
+                return fraction * fraction;
+            }
+        });
+
+        animation.step(START_NANOS, TARGET);
+        // First frame moves by minimal fraction, not by eased zero
+        assertEquals(1f, animation.getValue(), 1e-4f);
+
+        runToEnd(animation, START_NANOS + FRAME_NANOS, TARGET);
+        assertEquals(TARGET, animation.getValue(), 0);
+        assertFalse(animation.isRunning());
+    }
+
+    private static IndicatorAnimation spring(float dampingRatio) {
+        IndicatorAnimation animation = new IndicatorAnimation();
+        animation.setMode(AnimationMode.SPRING);
+        animation.setSpring(200, dampingRatio);
+        animation.setRestThreshold(REST_THRESHOLD);
+        animation.start(0, 0, null);
+        return animation;
+    }
+
+    //Steps frames until animation ends, returns number of stepped frames
+    private static int runToEnd(IndicatorAnimation animation, long startNanos, float target) {
+        long time = startNanos;
+        int frames = 0;
+        while (frames < MAX_FRAMES) {
+            frames++;
+            if (!animation.step(time, target)) break;
+            time += FRAME_NANOS;
+        }
+        return frames;
+    }
+
+    private static float maxValue(IndicatorAnimation animation) {
+        float max = animation.getValue();
+        long time = START_NANOS;
+        for (int i = 0; i < MAX_FRAMES && animation.step(time, TARGET); i++, time += FRAME_NANOS)
+            max = Math.max(max, animation.getValue());
+        return max;
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.bernardpletikosa.indicators.anim;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PeakHoldTest {
+
+    private static final long MILLIS = 1000000L;
+    private static final long HOLD_MILLIS = 1000;
+    // Value units per second
+    private static final float DECAY = 10f;
+
+    private PeakHold mPeakHold;
+
+    @Before
+    public void setUp() {
+        mPeakHold = new PeakHold();
+        mPeakHold.setHoldTime(HOLD_MILLIS);
+        mPeakHold.setDecay(DECAY);
+    }
+
+    @Test
+    public void peakIsHeldForHoldTime() {
+        assertTrue(mPeakHold.offer(50, 0));
+
+        assertTrue(mPeakHold.step(500 * MILLIS, 0));
+        assertEquals(50, mPeakHold.getPeak(), 0);
+        assertTrue(mPeakHold.step(HOLD_MILLIS * MILLIS, 0));
+        assertEquals(50, mPeakHold.getPeak(), 0);
+    }
+
+    @Test
+    public void peakDecaysAtConstantRateAfterHold() {
+        mPeakHold.offer(50, 0);
+
+        assertTrue(mPeakHold.step((HOLD_MILLIS + 500) * MILLIS, 0));
+        assertEquals(45, mPeakHold.getPeak(), 1e-4f);
+
+        // Decay doesn't depend on frame rate
+        for (long t = HOLD_MILLIS + 516; t <= HOLD_MILLIS + 1500; t += 16)
+            mPeakHold.step(t * MILLIS, 0);
+        mPeakHold.step((HOLD_MILLIS + 1500) * MILLIS, 0);
+        assertEquals(35, mPeakHold.getPeak(), 1e-3f);
+    }
+
+    @Test
+    public void peakStopsAtIndicatedValueAndDisappears() {
+        mPeakHold.offer(50, 0);
+
+        assertTrue(mPeakHold.step((HOLD_MILLIS + 1000) * MILLIS, 30));
+        assertFalse(mPeakHold.step((HOLD_MILLIS + 3000) * MILLIS, 30));
+        assertEquals(30, mPeakHold.getPeak(), 0);
+        assertFalse(mPeakHold.isActive());
+        assertFalse(mPeakHold.step((HOLD_MILLIS + 4000) * MILLIS, 0));
+    }
+
+    @Test
+    public void lowerValueNeitherMovesPeakNorRestartsHold() {
+        mPeakHold.offer(50, 0);
+
+        assertFalse(mPeakHold.offer(40, 800 * MILLIS));
+        mPeakHold.step((HOLD_MILLIS + 500) * MILLIS, 0);
+        assertEquals(45, mPeakHold.getPeak(), 1e-4f);
+    }
+
+    @Test
+    public void reachingPeakAgainRestartsHold() {
+        mPeakHold.offer(50, 0);
+
+        assertFalse(mPeakHold.offer(50, 800 * MILLIS));
+        mPeakHold.step((HOLD_MILLIS + 700) * MILLIS, 0);
+        assertEquals(50, mPeakHold.getPeak(), 0);
+    }
+
+    @Test
+    public void higherValueMovesPeakWhileDecaying() {
+        mPeakHold.offer(50, 0);
+        mPeakHold.step((HOLD_MILLIS + 500) * MILLIS, 0);
+
+        assertTrue(mPeakHold.offer(47, (HOLD_MILLIS + 500) * MILLIS));
+        mPeakHold.step((2 * HOLD_MILLIS + 500) * MILLIS, 0);
+        assertEquals(47, mPeakHold.getPeak(), 0);
+    }
+
+    @Test
+    public void resetRemovesPeak() {
+        mPeakHold.offer(50, 0);
+        mPeakHold.reset();
+
+        assertFalse(mPeakHold.isActive());
+        assertFalse(mPeakHold.step(0, 0));
+        assertTrue(mPeakHold.offer(10, 0));
+        assertEquals(10, mPeakHold.getPeak(), 0);
+    }
+}
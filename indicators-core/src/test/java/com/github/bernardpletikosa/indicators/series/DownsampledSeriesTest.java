@@ -0,0 +1,117 @@
+package com.github.bernardpletikosa.indicators.series;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DownsampledSeriesTest {
+
+    private static final int MAX_BUCKETS = 16;
+    private static final int SAMPLES = 1000;
+
+    @Test
+    public void incrementalDownsampleMatchesFreshSeriesAcrossBucketMerges() {
+        DownsampledSeries series = new DownsampledSeries(MAX_BUCKETS);
+        Random random = new Random(3);
+        long[] times = new long[SAMPLES];
+        float[] values = new float[SAMPLES];
+
+        for (int i = 0; i < SAMPLES; i++) {
+            times[i] = i == 0 ? 0 : times[i - 1] + random.nextInt(20);
+            values[i] = random.nextFloat() * 100;
+            series.append(times[i], values[i]);
+
+            // Downsampling after every append keeps final picks across merges
+            assertArrayEquals("after " + (i + 1) + " samples", downsample(fresh(times, values, 0, i + 1, 0)),
+                    downsample(series));
+        }
+
+        assertTrue(series.getBucketSize() >= SAMPLES / MAX_BUCKETS);
+    }
+
+    @Test
+    public void incrementalDownsampleMatchesFreshSeriesAfterTrimming() {
+        final int maxSamples = 300;
+        DownsampledSeries series = new DownsampledSeries(MAX_BUCKETS);
+        series.setMaxSamples(maxSamples);
+        Random random = new Random(4);
+        long[] times = new long[SAMPLES];
+        float[] values = new float[SAMPLES];
+
+        for (int i = 0; i < SAMPLES; i++) {
+            times[i] = i * 10L;
+            values[i] = random.nextFloat() * 100;
+            series.append(times[i], values[i]);
+            downsample(series);
+
+            final int size = series.size();
+            assertTrue(size <= maxSamples);
+            assertEquals(times[i + 1 - size], series.getTime(0));
+            assertArrayEquals("after " + (i + 1) + " samples",
+                    downsample(fresh(times, values, i + 1 - size, i + 1, maxSamples)), downsample(series));
+        }
+    }
+
+    @Test
+    public void keepsFirstAndLastSampleAndTimeOrder() {
+        DownsampledSeries series = new DownsampledSeries(MAX_BUCKETS);
+        for (int i = 0; i < SAMPLES; i++) series.append(i, (float) Math.sin(i / 10.0));
+
+        int[] indices = downsample(series);
+        assertTrue(indices.length <= series.getMaxPoints());
+        assertEquals(0, indices[0]);
+        assertEquals(SAMPLES - 1, indices[indices.length - 1]);
+        for (int i = 1; i < indices.length; i++) assertTrue(indices[i] > indices[i - 1]);
+    }
+
+    @Test
+    public void keepsAllSamplesWhileTheyFitBuckets() {
+        DownsampledSeries series = new DownsampledSeries(MAX_BUCKETS);
+        for (int i = 0; i < MAX_BUCKETS; i++) series.append(i, i);
+
+        assertEquals(1, series.getBucketSize());
+        assertEquals(MAX_BUCKETS, downsample(series).length);
+    }
+
+    @Test
+    public void changingMaxBucketsMatchesFreshSeries() {
+        DownsampledSeries series = new DownsampledSeries(MAX_BUCKETS);
+        long[] times = new long[SAMPLES];
+        float[] values = new float[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            times[i] = i;
+            values[i] = i % 7;
+            series.append(times[i], values[i]);
+        }
+        downsample(series);
+
+        series.setMaxBuckets(MAX_BUCKETS * 4);
+        DownsampledSeries fresh = new DownsampledSeries(MAX_BUCKETS * 4);
+        for (int i = 0; i < SAMPLES; i++) fresh.append(times[i], values[i]);
+        assertArrayEquals(downsample(fresh), downsample(series));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsSampleBeforeLastSample() {
+        DownsampledSeries series = new DownsampledSeries(MAX_BUCKETS);
+        series.append(10, 0);
+        series.append(9, 0);
+    }
+
+    private static DownsampledSeries fresh(long[] times, float[] values, int from, int to, int maxSamples) {
+        DownsampledSeries series = new DownsampledSeries(MAX_BUCKETS);
+        if (maxSamples > 0) series.setMaxSamples(maxSamples);
+        for (int i = from; i < to; i++) series.append(times[i], values[i]);
+        return series;
+    }
+
+    private static int[] downsample(DownsampledSeries series) {
+        int[] indices = new int[series.getMaxPoints()];
+        return Arrays.copyOf(indices, series.downsample(indices));
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.bernardpletikosa.indicators.text;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class ValueFormatterTest {
+
+    // Halves of a cent are exact in float and must round to even
+    private static final float[] EDGE_VALUES = {0f, -0f, 0.125f, 0.375f, -0.125f, -0.375f, 2.5f, 1.005f,
+            0.004f, -0.004f, -0.005f, 99.995f, 100f, -100f, 12345.67f, 1e6f, -1e6f};
+
+    @Test
+    public void formatsIntegerPartLikeIntCast() {
+        ValueFormatter formatter = new ValueFormatter();
+        Random random = new Random(1);
+
+        for (float value : EDGE_VALUES)
+            assertEquals(String.valueOf((int) value), format(formatter, value, false));
+        for (int i = 0; i < 10000; i++) {
+            float value = (random.nextFloat() - 0.5f) * 2e6f;
+            assertEquals(String.valueOf((int) value), format(formatter, value, false));
+        }
+    }
+
+    @Test
+    public void formatsDecimalLikeStringFormatHalfEven() {
+        ValueFormatter formatter = new ValueFormatter();
+        Random random = new Random(2);
+
+        for (float value : EDGE_VALUES)
+            assertEquals(expectedDecimal(value), format(formatter, value, true));
+        for (int i = 0; i < 10000; i++) {
+            float value = (random.nextFloat() - 0.5f) * 2000f;
+            assertEquals(expectedDecimal(value), format(formatter, value, true));
+        }
+    }
+
+    @Test
+    public void writesPrefixAndSuffix() {
+        ValueFormatter formatter = new ValueFormatter();
+        formatter.setPrefix("T ");
+        formatter.setSuffix(" %");
+
+        assertEquals("T 42 %", format(formatter, 42.7f, false));
+        assertEquals("T " + String.format("%.2f", 42.5) + " %", format(formatter, 42.5f, true));
+        assertEquals(2, formatter.getPrefixLength());
+        assertEquals(2, formatter.getSuffixLength());
+
+        formatter.setPrefix("");
+        assertEquals("42 %", format(formatter, 42f, false));
+    }
+
+    @Test
+    public void reusesBufferBetweenFormats() {
+        ValueFormatter formatter = new ValueFormatter();
+        formatter.setPrefix("-");
+        formatter.setSuffix("+");
+        char[] buffer = formatter.getBuffer();
+
+        for (int i = 0; i < 100; i++) {
+            formatter.format(i * 1234.5f, i % 2 == 0);
+            assertSame(buffer, formatter.getBuffer());
+        }
+    }
+
+    private static String format(ValueFormatter formatter, float value, boolean decimal) {
+        int length = formatter.format(value, decimal);
+        assertEquals(length, formatter.getLength());
+        return new String(formatter.getBuffer(), 0, length);
+    }
+
+    private static String expectedDecimal(float value) {
+        return String.format("%.2f", new BigDecimal(value).setScale(2, RoundingMode.HALF_EVEN));
+    }
+}
@@ -0,0 +1,134 @@
+package com.github.bernardpletikosa.indicators;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.util.AttributeSet;
+
+import com.github.bernardpletikosa.indicators.consts.SizeUnit;
+import com.github.bernardpletikosa.indicators.geometry.HistoryGeometry;
+
+/**
+ * Base of indicators drawing history of indicated values as a line, newest value at the right
+ * edge and value text on top. Values can be recorded from any thread, subclasses keep history
+ * guarded by {@link #mLock} and request redraw with {@link #invalidateFromAnyThread()}.
+ * @param <G> history geometry, also used from other threads under {@link #mLock}
+ */
+public abstract class HistoryIndicator<G extends HistoryGeometry> extends IndicatorView {
+
+    private static final int DEFAULT_LINE_WIDTH_DP = 1;
+
+    protected final G mGeometry;
+
+    // Guards history and geometry, values may be recorded from any thread
+    protected final Object mLock = new Object();
+
+    private final int mWidthToHeight;
+    private float mLineWidth;
+    private final Paint mLinePaint = new Paint();
+    private IndicatorStyle mLineStyle;
+
+    /**
+     * @param geometry      history geometry
+     * @param widthToHeight ratio of width to height used when height is not given
+     */
+    protected HistoryIndicator(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes,
+                               G geometry, int widthToHeight) {
+        super(context, attrs, defStyleAttr, defStyleRes);
+
+        mGeometry = geometry;
+        mWidthToHeight = widthToHeight;
+    }
+
+    /**
+     * Sets line width from XML preset, default is used when it is not set.
+     * @param lineWidth line width in pixels, 0 or less if not set
+     */
+    protected void setXmlLineWidth(float lineWidth) {
+        mLineWidth = lineWidth > 0 ? lineWidth : dpToPixel(DEFAULT_LINE_WIDTH_DP);
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        if (setCachedMeasure(widthMeasureSpec, heightMeasureSpec)) return;
+
+        final long measureStart = beginMeasureSection();
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        int height = MeasureSpec.getSize(heightMeasureSpec);
+
+        // Without given height indicator is mWidthToHeight times wider than high
+        int w = width > 0 ? width : height * mWidthToHeight;
+        int h = MeasureSpec.getMode(heightMeasureSpec) == MeasureSpec.EXACTLY || w == 0 ? height :
+                height > 0 ? Math.min(height, w / mWidthToHeight) : w / mWidthToHeight;
+
+        setMeasuredDimension(w, h);
+
+        synchronized (mLock) {
+            mGeometry.set(w, h);
+            onHistoryMeasured(w, h);
+        }
+
+        mTextPositionX = w / 2;
+        mTextPositionY = (int) (h / 2 - ((mStyle.getTextPaint().descent() + mStyle.getTextPaint().ascent()) / 2));
+
+        cacheMeasure(widthMeasureSpec, heightMeasureSpec);
+        endMeasureSection(measureStart);
+    }
+
+    /**
+     * Called with {@link #mLock} held after geometry was set to new size, history which
+     * depends on size is updated here.
+     * @param width  measured width
+     * @param height measured height
+     */
+    protected abstract void onHistoryMeasured(int width, int height);
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        if (mLineStyle != mStyle) {
+            mLinePaint.set(mStyle.getMainPaint());
+            mLinePaint.setStyle(Paint.Style.STROKE);
+            mLinePaint.setStrokeWidth(mLineWidth);
+            mLineStyle = mStyle;
+        }
+
+        drawHistory(canvas, mLinePaint);
+
+        drawText(canvas, mGeometry.valueAt(mCurrentValue, mValueRange));
+    }
+
+    /**
+     * Draws history line, {@link #mLock} is not held.
+     * @param canvas    canvas to draw on
+     * @param linePaint stroke paint with indicator's main color and line width
+     */
+    protected abstract void drawHistory(Canvas canvas, Paint linePaint);
+
+    /**
+     * Sets line width in specified unit. Default is 1dp.
+     * XML parameter {@link com.github.bernardpletikosa.indicators.R.attr#sparkline_line_width}
+     * or {@link com.github.bernardpletikosa.indicators.R.attr#time_series_line_width}
+     * @param unit  {@link com.github.bernardpletikosa.indicators.consts.SizeUnit}
+     * @param width line width in specified unit
+     */
+    public void setLineWidth(SizeUnit unit, int width) throws IllegalArgumentException {
+        checkArgument(unit, "SizeUnit");
+        checkNegativeOrZero(width, "line width");
+
+        mLineWidth = unit == SizeUnit.PX ? width : dpToPixel(width);
+        mLineStyle = null;
+        invalidate();
+    }
+
+    /**
+     * @return line width in pixels
+     */
+    public float getLineWidth() {
+        return mLineWidth;
+    }
+
+    @Override
+    protected float calculateShift(float absoluteTarget) {
+        return mGeometry.positionOf(absoluteTarget, mValueRange) - mOldValue;
+    }
+}
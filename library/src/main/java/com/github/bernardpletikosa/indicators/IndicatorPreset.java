@@ -0,0 +1,376 @@
+package com.github.bernardpletikosa.indicators;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.util.AttributeSet;
+
+import com.github.bernardpletikosa.indicators.consts.AnimationMode;
+import com.github.bernardpletikosa.indicators.consts.Direction;
+import com.github.bernardpletikosa.indicators.consts.Orientation;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.WeakHashMap;
+
+import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_ANIM_DURATION;
+import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_MAX_VALUE;
+import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_MIN_VALUE;
+import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_PEAK_HOLD_TIME;
+import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_SPARKLINE_CAPACITY;
+import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_SPRING_DAMPING_RATIO;
+import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_SPRING_STIFFNESS;
+import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_TEXT_SIZE;
+import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_TIME_SERIES_MAX_SAMPLES;
+import static com.github.bernardpletikosa.indicators.consts.Defaults.NO_VALUE;
+
+/**
+ * Immutable result of resolving all indicator xml attributes, for every indicator type, in one
+ * {@link android.content.res.Resources.Theme#obtainStyledAttributes} pass.
+ * <p>Presets are cached per theme and keyed by indicator attributes of the xml element together
+ * with its style and default style, so identical indicators in a layout resolve their
+ * attributes only once and share the preset. Missing attributes hold the same defaults
+ * indicators used before.</p>
+ */
+public final class IndicatorPreset {
+
+    // Sorted for binary search, attributes outside of it (like ids) don't affect the preset
+    private static final int[] SORTED_ATTRS = sortedCopy(R.styleable.IndicatorPreset);
+
+    private static final WeakHashMap<Resources.Theme, HashMap<String, IndicatorPreset>> sCache =
+            new WeakHashMap<Resources.Theme, HashMap<String, IndicatorPreset>>();
+
+    private final float mMinValue;
+    private final float mMaxValue;
+    private final float mTargetValue;
+    private final int mAnimationDuration;
+    private final AnimationMode mAnimationMode;
+    private final float mSpringStiffness;
+    private final float mSpringDampingRatio;
+    private final boolean mSoftwareLayer;
+
+    private final IndicatorStyle mStyle;
+    private final boolean mTextShow;
+    private final boolean mTextAnimate;
+    private final boolean mTextDecimal;
+    private final boolean mTextGlyphAtlas;
+    private final String mTextPrefix;
+    private final String mTextSuffix;
+
+    private final int mCircleRadius;
+
+    private final int mLineWidth;
+    private final int mLineHeight;
+    private final Direction mLineDirection;
+
+    private final int mTriangleWidth;
+    private final int mTriangleHeight;
+    private final Direction mTriangleDirection;
+
+    private final int mPieRadius;
+    private final int mPieInnerRadius;
+    private final int mPieStartAngle;
+    private final boolean mPieRing;
+    private final Direction mPieDirection;
+    private final Orientation mHalfPieOrientation;
+    private final Orientation mQuarterPieOrientation;
+
+    private final int mSparklineCapacity;
+    private final int mSparklineLineWidth;
+
+    private final int mTimeSeriesLineWidth;
+    private final int mTimeSeriesMaxSamples;
+
+    private final boolean mPeakHold;
+    private final int mPeakHoldTime;
+    private final float mPeakDecay;
+    private final int mPeakMarkerWidth;
+
+    private IndicatorPreset(TypedArray array) {
+        mMinValue = array.getFloat(R.styleable.IndicatorPreset_min_value, DEFAULT_MIN_VALUE);
+        mMaxValue = array.getFloat(R.styleable.IndicatorPreset_max_value, DEFAULT_MAX_VALUE);
+        mTargetValue = array.getFloat(R.styleable.IndicatorPreset_target_value, NO_VALUE);
+        mAnimationDuration = array.getInt(R.styleable.IndicatorPreset_animation_duration, DEFAULT_ANIM_DURATION);
+        mAnimationMode = AnimationMode.values()[array.getInt(R.styleable.IndicatorPreset_animation_mode, 0)];
+        mSpringStiffness = array.getFloat(R.styleable.IndicatorPreset_spring_stiffness, DEFAULT_SPRING_STIFFNESS);
+        mSpringDampingRatio = array.getFloat(R.styleable.IndicatorPreset_spring_damping_ratio,
+                DEFAULT_SPRING_DAMPING_RATIO);
+        IndicatorView.checkDampingRatio(mSpringDampingRatio);
+        mSoftwareLayer = array.getBoolean(R.styleable.IndicatorPreset_software_layer, false);
+
+        mStyle = resolveStyle(array);
+        mTextShow = array.getBoolean(R.styleable.IndicatorPreset_text_show, true);
+        mTextAnimate = array.getBoolean(R.styleable.IndicatorPreset_text_animate, true);
+        mTextDecimal = array.getBoolean(R.styleable.IndicatorPreset_text_value_decimal, false);
+        mTextGlyphAtlas = array.getBoolean(R.styleable.IndicatorPreset_text_glyph_atlas, false);
+        String prefix = array.getString(R.styleable.IndicatorPreset_text_prefix);
+        mTextPrefix = prefix == null ? "" : prefix;
+        String suffix = array.getString(R.styleable.IndicatorPreset_text_suffix);
+        mTextSuffix = suffix == null ? "" : suffix;
+
+        mCircleRadius = (int) array.getDimension(R.styleable.IndicatorPreset_circle_radius, NO_VALUE);
+
+        mLineWidth = (int) array.getDimension(R.styleable.IndicatorPreset_line_width, NO_VALUE);
+        mLineHeight = (int) array.getDimension(R.styleable.IndicatorPreset_line_height, NO_VALUE);
+        mLineDirection = Direction.values()[array.getInt(R.styleable.IndicatorPreset_line_direction, 2)];
+
+        mTriangleWidth = (int) array.getDimension(R.styleable.IndicatorPreset_triangle_width, NO_VALUE);
+        mTriangleHeight = (int) array.getDimension(R.styleable.IndicatorPreset_triangle_height, NO_VALUE);
+        mTriangleDirection = Direction.values()[array.getInt(R.styleable.IndicatorPreset_triangle_direction, 2)];
+
+        mPieRadius = (int) array.getDimension(R.styleable.IndicatorPreset_pie_radius, NO_VALUE);
+        mPieInnerRadius = array.getInt(R.styleable.IndicatorPreset_pie_inner_radius, NO_VALUE);
+        mPieStartAngle = array.getInt(R.styleable.IndicatorPreset_pie_start_angle, 0);
+        mPieRing = array.getBoolean(R.styleable.IndicatorPreset_pie_ring, false);
+        mPieDirection = Direction.values()[array.getInt(R.styleable.IndicatorPreset_pie_direction, 0)];
+        mHalfPieOrientation = Orientation.values()[array.getInt(R.styleable.IndicatorPreset_half_pie_orientation, 4)];
+        mQuarterPieOrientation = Orientation.values()[array.getInt(
+                R.styleable.IndicatorPreset_quarter_pie_orientation, 4)];
+
+        mSparklineCapacity = array.getInt(R.styleable.IndicatorPreset_sparkline_capacity,
+                DEFAULT_SPARKLINE_CAPACITY);
+        mSparklineLineWidth = (int) array.getDimension(R.styleable.IndicatorPreset_sparkline_line_width, NO_VALUE);
+
+        mTimeSeriesLineWidth = (int) array.getDimension(R.styleable.IndicatorPreset_time_series_line_width, NO_VALUE);
+        mTimeSeriesMaxSamples = array.getInt(R.styleable.IndicatorPreset_time_series_max_samples,
+                DEFAULT_TIME_SERIES_MAX_SAMPLES);
+
+        mPeakHold = array.getBoolean(R.styleable.IndicatorPreset_peak_hold, false);
+        mPeakHoldTime = array.getInt(R.styleable.IndicatorPreset_peak_hold_time, DEFAULT_PEAK_HOLD_TIME);
+        mPeakDecay = array.getFloat(R.styleable.IndicatorPreset_peak_decay, NO_VALUE);
+        mPeakMarkerWidth = (int) array.getDimension(R.styleable.IndicatorPreset_peak_marker_width, NO_VALUE);
+    }
+
+    /**
+     * Returns preset for given xml attributes, resolving and caching it on first use.
+     * Must be called from the thread inflating views.
+     * @param context      context whose theme resolves attributes
+     * @param attrs        xml attributes, can be null
+     * @param defStyleAttr theme attribute with default style, 0 for none
+     * @param defStyleRes  default style resource used when defStyleAttr is 0 or not set, 0 for none
+     * @return shared preset
+     */
+    public static IndicatorPreset obtain(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+        final Resources.Theme theme = context.getTheme();
+        final String key = key(attrs, defStyleAttr, defStyleRes);
+
+        synchronized (sCache) {
+            HashMap<String, IndicatorPreset> presets = sCache.get(theme);
+            if (presets == null) {
+                presets = new HashMap<String, IndicatorPreset>();
+                sCache.put(theme, presets);
+            }
+
+            IndicatorPreset preset = presets.get(key);
+            if (preset == null) {
+                preset = resolve(theme, attrs, defStyleAttr, defStyleRes);
+                presets.put(key, preset);
+            }
+            return preset;
+        }
+    }
+
+    /**
+     * Drops all cached presets, for example after changing theme attributes in place.
+     */
+    public static void clearCache() {
+        synchronized (sCache) {
+            sCache.clear();
+        }
+    }
+
+    public float getMinValue() {
+        return mMinValue;
+    }
+
+    public float getMaxValue() {
+        return mMaxValue;
+    }
+
+    public float getTargetValue() {
+        return mTargetValue;
+    }
+
+    public int getAnimationDuration() {
+        return mAnimationDuration;
+    }
+
+    public AnimationMode getAnimationMode() {
+        return mAnimationMode;
+    }
+
+    public float getSpringStiffness() {
+        return mSpringStiffness;
+    }
+
+    public float getSpringDampingRatio() {
+        return mSpringDampingRatio;
+    }
+
+    public boolean isSoftwareLayer() {
+        return mSoftwareLayer;
+    }
+
+    public IndicatorStyle getStyle() {
+        return mStyle;
+    }
+
+    public boolean isTextShow() {
+        return mTextShow;
+    }
+
+    public boolean isTextAnimate() {
+        return mTextAnimate;
+    }
+
+    public boolean isTextDecimal() {
+        return mTextDecimal;
+    }
+
+    public boolean isTextGlyphAtlas() {
+        return mTextGlyphAtlas;
+    }
+
+    public String getTextPrefix() {
+        return mTextPrefix;
+    }
+
+    public String getTextSuffix() {
+        return mTextSuffix;
+    }
+
+    public int getCircleRadius() {
+        return mCircleRadius;
+    }
+
+    public int getLineWidth() {
+        return mLineWidth;
+    }
+
+    public int getLineHeight() {
+        return mLineHeight;
+    }
+
+    public Direction getLineDirection() {
+        return mLineDirection;
+    }
+
+    public int getTriangleWidth() {
+        return mTriangleWidth;
+    }
+
+    public int getTriangleHeight() {
+        return mTriangleHeight;
+    }
+
+    public Direction getTriangleDirection() {
+        return mTriangleDirection;
+    }
+
+    public int getPieRadius() {
+        return mPieRadius;
+    }
+
+    public int getPieInnerRadius() {
+        return mPieInnerRadius;
+    }
+
+    public int getPieStartAngle() {
+        return mPieStartAngle;
+    }
+
+    public boolean isPieRing() {
+        return mPieRing;
+    }
+
+    public Direction getPieDirection() {
+        return mPieDirection;
+    }
+
+    public Orientation getHalfPieOrientation() {
+        return mHalfPieOrientation;
+    }
+
+    public Orientation getQuarterPieOrientation() {
+        return mQuarterPieOrientation;
+    }
+
+    public int getSparklineCapacity() {
+        return mSparklineCapacity;
+    }
+
+    public int getSparklineLineWidth() {
+        return mSparklineLineWidth;
+    }
+
+    public int getTimeSeriesLineWidth() {
+        return mTimeSeriesLineWidth;
+    }
+
+    public int getTimeSeriesMaxSamples() {
+        return mTimeSeriesMaxSamples;
+    }
+
+    public boolean isPeakHold() {
+        return mPeakHold;
+    }
+
+    public int getPeakHoldTime() {
+        return mPeakHoldTime;
+    }
+
+    public float getPeakDecay() {
+        return mPeakDecay;
+    }
+
+    public int getPeakMarkerWidth() {
+        return mPeakMarkerWidth;
+    }
+
+    private static IndicatorPreset resolve(Resources.Theme theme, AttributeSet attrs, int defStyleAttr,
+                                           int defStyleRes) {
+        TypedArray array = theme.obtainStyledAttributes(attrs, R.styleable.IndicatorPreset, defStyleAttr, defStyleRes);
+        try {
+            return new IndicatorPreset(array);
+        } finally {
+            array.recycle();
+        }
+    }
+
+    // Zero colors and sizes keep style defaults, like their setters do
+    private static IndicatorStyle resolveStyle(TypedArray array) {
+        IndicatorStyle style = IndicatorStyle.DEFAULT;
+
+        int color = array.getColor(R.styleable.IndicatorPreset_main_color, R.color.main);
+        if (color != 0) style = style.withMainColor(color);
+        color = array.getColor(R.styleable.IndicatorPreset_background_color, R.color.background);
+        if (color != 0) style = style.withBackgroundColor(color);
+        color = array.getColor(R.styleable.IndicatorPreset_text_color, R.color.text);
+        if (color != 0) style = style.withTextColor(color);
+        color = array.getColor(R.styleable.IndicatorPreset_pie_center_paint, android.R.color.white);
+        if (color != 0) style = style.withCenterColor(color);
+
+        int textSize = (int) array.getDimension(R.styleable.IndicatorPreset_text_size, DEFAULT_TEXT_SIZE);
+        return textSize > 0 ? style.withTextSize(textSize) : style;
+    }
+
+    private static String key(AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+        StringBuilder key = new StringBuilder();
+        key.append(defStyleAttr).append('/').append(defStyleRes);
+        if (attrs == null) return key.toString();
+
+        key.append('/').append(attrs.getStyleAttribute());
+        for (int i = 0; i < attrs.getAttributeCount(); i++) {
+            int name = attrs.getAttributeNameResource(i);
+            if (Arrays.binarySearch(SORTED_ATTRS, name) < 0) continue;
+            key.append(';').append(name).append('=').append(attrs.getAttributeValue(i));
+        }
+        return key.toString();
+    }
+
+    private static int[] sortedCopy(int[] attrs) {
+        int[] sorted = Arrays.copyOf(attrs, attrs.length);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+}
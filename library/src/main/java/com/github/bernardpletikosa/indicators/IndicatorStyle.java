@@ -0,0 +1,258 @@
+package com.github.bernardpletikosa.indicators;
+
+import android.graphics.Paint;
+import android.graphics.Typeface;
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+
+import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_TEXT_SIZE;
+
+/**
+ * Immutable indicator look: colors, text size and typeface, anti aliasing and shape paint style.
+ * Styles are flyweights, equal styles are the same instance and hold one set of paints shared by
+ * every indicator using them, so restyling many indicators is a single
+ * {@link IndicatorView#setStyle(IndicatorStyle)} per indicator and no paint mutations.
+ * <p>Customizing uses copy on write, {@code withX} methods return another shared style and never
+ * change this one. Paints are created with the style and must not be modified, so styles can be
+ * created and shared on any thread, for example by asynchronous inflation or renderers.</p>
+ */
+public final class IndicatorStyle {
+
+    private static final int DEFAULT_COLOR = 0xFF000000;
+
+    private static final WeakHashMap<IndicatorStyle, WeakReference<IndicatorStyle>> sStyles =
+            new WeakHashMap<IndicatorStyle, WeakReference<IndicatorStyle>>();
+
+    /**
+     * Style of indicators without any color or text attributes.
+     */
+    public static final IndicatorStyle DEFAULT = intern(new IndicatorStyle(DEFAULT_COLOR, DEFAULT_COLOR,
+            DEFAULT_COLOR, DEFAULT_COLOR, DEFAULT_TEXT_SIZE, null, true, Paint.Style.FILL));
+
+    private final int mMainColor;
+    private final int mBackgroundColor;
+    private final int mTextColor;
+    private final int mCenterColor;
+    private final float mTextSize;
+    private final Typeface mTypeface;
+    private final boolean mAntiAlias;
+    private final Paint.Style mShapeStyle;
+
+    private final Paint mMainPaint;
+    private final Paint mBackgroundPaint;
+    private final Paint mCenterPaint;
+    private final Paint[] mTextPaints = new Paint[Paint.Align.values().length];
+
+    IndicatorStyle(int mainColor, int backgroundColor, int textColor, int centerColor, float textSize,
+                   Typeface typeface, boolean antiAlias, Paint.Style shapeStyle) {
+        mMainColor = mainColor;
+        mBackgroundColor = backgroundColor;
+        mTextColor = textColor;
+        mCenterColor = centerColor;
+        mTextSize = textSize;
+        mTypeface = typeface;
+        mAntiAlias = antiAlias;
+        mShapeStyle = shapeStyle;
+
+        mMainPaint = createShapePaint(mainColor);
+        mBackgroundPaint = createShapePaint(backgroundColor);
+        mCenterPaint = new Paint();
+        mCenterPaint.setColor(centerColor);
+        mCenterPaint.setAntiAlias(antiAlias);
+        for (Paint.Align align : Paint.Align.values())
+            mTextPaints[align.ordinal()] = createTextPaint(align);
+    }
+
+    static IndicatorStyle intern(IndicatorStyle style) {
+        synchronized (sStyles) {
+            WeakReference<IndicatorStyle> reference = sStyles.get(style);
+            IndicatorStyle shared = reference != null ? reference.get() : null;
+            if (shared != null) return shared;
+
+            sStyles.put(style, new WeakReference<IndicatorStyle>(style));
+            return style;
+        }
+    }
+
+    /**
+     * @param mainColor color of indicated part
+     * @return style with given main color
+     */
+    public IndicatorStyle withMainColor(int mainColor) {
+        return intern(new IndicatorStyle(mainColor, mBackgroundColor, mTextColor, mCenterColor, mTextSize,
+                mTypeface, mAntiAlias, mShapeStyle));
+    }
+
+    /**
+     * @param backgroundColor color of whole shape below indicated part
+     * @return style with given background color
+     */
+    public IndicatorStyle withBackgroundColor(int backgroundColor) {
+        return intern(new IndicatorStyle(mMainColor, backgroundColor, mTextColor, mCenterColor, mTextSize,
+                mTypeface, mAntiAlias, mShapeStyle));
+    }
+
+    /**
+     * @param textColor value text color
+     * @return style with given text color
+     */
+    public IndicatorStyle withTextColor(int textColor) {
+        return intern(new IndicatorStyle(mMainColor, mBackgroundColor, textColor, mCenterColor, mTextSize,
+                mTypeface, mAntiAlias, mShapeStyle));
+    }
+
+    /**
+     * @param centerColor color of pie center hole
+     * @return style with given center color
+     */
+    public IndicatorStyle withCenterColor(int centerColor) {
+        return intern(new IndicatorStyle(mMainColor, mBackgroundColor, mTextColor, centerColor, mTextSize,
+                mTypeface, mAntiAlias, mShapeStyle));
+    }
+
+    /**
+     * @param textSize value text size in pixels, greater than 0
+     * @return style with given text size
+     */
+    public IndicatorStyle withTextSize(float textSize) throws IllegalArgumentException {
+        if (textSize <= 0)
+            throw new IllegalArgumentException("Argument text size can't be less or equal to 0.");
+
+        return intern(new IndicatorStyle(mMainColor, mBackgroundColor, mTextColor, mCenterColor, textSize,
+                mTypeface, mAntiAlias, mShapeStyle));
+    }
+
+    /**
+     * @param typeface value text typeface, null for default
+     * @return style with given typeface
+     */
+    public IndicatorStyle withTypeface(Typeface typeface) {
+        return intern(new IndicatorStyle(mMainColor, mBackgroundColor, mTextColor, mCenterColor, mTextSize,
+                typeface, mAntiAlias, mShapeStyle));
+    }
+
+    /**
+     * @param antiAlias true to draw shapes and text anti aliased, default is true
+     * @return style with given anti aliasing
+     */
+    public IndicatorStyle withAntiAlias(boolean antiAlias) {
+        return intern(new IndicatorStyle(mMainColor, mBackgroundColor, mTextColor, mCenterColor, mTextSize,
+                mTypeface, antiAlias, mShapeStyle));
+    }
+
+    /**
+     * @param shapeStyle paint style of main and background shapes, default is
+     *                   {@link android.graphics.Paint.Style#FILL}
+     * @return style with given shape paint style
+     */
+    public IndicatorStyle withShapeStyle(Paint.Style shapeStyle) throws IllegalArgumentException {
+        if (shapeStyle == null)
+            throw new IllegalArgumentException("shape style can't be null.");
+
+        return intern(new IndicatorStyle(mMainColor, mBackgroundColor, mTextColor, mCenterColor, mTextSize,
+                mTypeface, mAntiAlias, shapeStyle));
+    }
+
+    public Paint getMainPaint() {
+        return mMainPaint;
+    }
+
+    public Paint getBackgroundPaint() {
+        return mBackgroundPaint;
+    }
+
+    public Paint getCenterPaint() {
+        return mCenterPaint;
+    }
+
+    /**
+     * @return text paint with centered text
+     */
+    public Paint getTextPaint() {
+        return getTextPaint(Paint.Align.CENTER);
+    }
+
+    /**
+     * @param align text alignment
+     * @return text paint with given alignment
+     */
+    public Paint getTextPaint(Paint.Align align) {
+        return mTextPaints[align.ordinal()];
+    }
+
+    public int getMainColor() {
+        return mMainColor;
+    }
+
+    public int getBackgroundColor() {
+        return mBackgroundColor;
+    }
+
+    public int getTextColor() {
+        return mTextColor;
+    }
+
+    public int getCenterColor() {
+        return mCenterColor;
+    }
+
+    public float getTextSize() {
+        return mTextSize;
+    }
+
+    public Typeface getTypeface() {
+        return mTypeface;
+    }
+
+    public boolean isAntiAlias() {
+        return mAntiAlias;
+    }
+
+    public Paint.Style getShapeStyle() {
+        return mShapeStyle;
+    }
+
+    private Paint createShapePaint(int color) {
+        Paint paint = new Paint();
+        paint.setColor(color);
+        paint.setAntiAlias(mAntiAlias);
+        paint.setStyle(mShapeStyle);
+        return paint;
+    }
+
+    private Paint createTextPaint(Paint.Align align) {
+        Paint paint = new Paint();
+        paint.setColor(mTextColor);
+        paint.setAntiAlias(mAntiAlias);
+        paint.setTextAlign(align);
+        paint.setTextSize(mTextSize);
+        paint.setTypeface(mTypeface);
+        return paint;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof IndicatorStyle)) return false;
+
+        IndicatorStyle style = (IndicatorStyle) o;
+        return mMainColor == style.mMainColor && mBackgroundColor == style.mBackgroundColor
+                && mTextColor == style.mTextColor && mCenterColor == style.mCenterColor
+                && Float.compare(mTextSize, style.mTextSize) == 0 && mAntiAlias == style.mAntiAlias
+                && mShapeStyle == style.mShapeStyle
+                && (mTypeface == null ? style.mTypeface == null : mTypeface.equals(style.mTypeface));
+    }
+
+    @Override
+    public int hashCode() {
+        int result = mMainColor;
+        result = 31 * result + mBackgroundColor;
+        result = 31 * result + mTextColor;
+        result = 31 * result + mCenterColor;
+        result = 31 * result + Float.floatToIntBits(mTextSize);
+        result = 31 * result + (mTypeface != null ? mTypeface.hashCode() : 0);
+        result = 31 * result + (mAntiAlias ? 1 : 0);
+        return 31 * result + mShapeStyle.hashCode();
+    }
+}
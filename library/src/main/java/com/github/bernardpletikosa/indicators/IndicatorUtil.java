@@ -0,0 +1,74 @@
+package com.github.bernardpletikosa.indicators;
+
+import android.content.res.Resources;
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.Interpolator;
+
+import com.github.bernardpletikosa.indicators.anim.Easing;
+
+/**
+ * Plumbing shared by {@link IndicatorView}, {@link com.github.bernardpletikosa.indicators.drawable.IndicatorDrawable}
+ * and {@link com.github.bernardpletikosa.indicators.dashboard.IndicatorDashboardView}.
+ */
+public final class IndicatorUtil {
+
+    /**
+     * Interpolator used when none is set.
+     */
+    public static final Interpolator DEFAULT_INTERPOLATOR = new AccelerateDecelerateInterpolator();
+
+    /**
+     * Animation stops when value is closer to target than this part of range, used where
+     * indicator size in pixels isn't known.
+     */
+    public static final float REST_FRACTION = 0.001f;
+
+    private IndicatorUtil() {
+    }
+
+    /**
+     * @param minValue minimum value
+     * @param maxValue maximum value
+     * @return rest threshold for values in range, see {@link #REST_FRACTION}
+     */
+    public static float restThreshold(float minValue, float maxValue) {
+        return (maxValue - minValue) * REST_FRACTION;
+    }
+
+    /**
+     * Converts dp unit to equivalent pixels, depending on device density.
+     * @param resources resources providing display metrics
+     * @param dp        value in dp (density independent pixels) unit
+     * @return float value to represent px equivalent to dp depending on device density
+     */
+    public static float dpToPixel(Resources resources, float dp) {
+        return dp * (resources.getDisplayMetrics().densityDpi / 160f);
+    }
+
+    /**
+     * Adapts Android {@link Interpolator} to {@link Easing} used by core animation.
+     */
+    public static final class InterpolatorEasing implements Easing {
+
+        private Interpolator mInterpolator = DEFAULT_INTERPOLATOR;
+
+        /**
+         * @param interpolator interpolator to ease with
+         */
+        public void setInterpolator(Interpolator interpolator) {
+            mInterpolator = interpolator;
+        }
+
+        /**
+         * @return interpolator to ease with
+         */
+        public Interpolator getInterpolator() {
+            return mInterpolator;
+        }
+
+        @Override
+        public float ease(float fraction) {
+            return mInterpolator.getInterpolation(fraction);
+        }
+    }
+}
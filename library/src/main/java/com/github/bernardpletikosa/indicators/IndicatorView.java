@@ -1,35 +1,52 @@
 package com.github.bernardpletikosa.indicators;
 
 import android.animation.Animator;
-import android.animation.ValueAnimator;
+import android.animation.TimeInterpolator;
 import android.content.Context;
-import android.content.res.Resources;
-import android.content.res.TypedArray;
+import android.content.res.Configuration;
 import android.graphics.Canvas;
 import android.graphics.Paint;
+import android.graphics.RectF;
 import android.os.Build;
+import android.os.Looper;
+import android.os.Trace;
 import android.util.AttributeSet;
-import android.util.DisplayMetrics;
 import android.util.Log;
 import android.view.Display;
 import android.view.View;
 import android.view.WindowManager;
-import android.view.animation.AccelerateDecelerateInterpolator;
 import android.view.animation.Interpolator;
 
+import com.github.bernardpletikosa.indicators.anim.FrameClock;
+import com.github.bernardpletikosa.indicators.anim.IndicatorAnimation;
+import com.github.bernardpletikosa.indicators.anim.PeakHold;
+import com.github.bernardpletikosa.indicators.consts.AnimationMode;
 import com.github.bernardpletikosa.indicators.consts.SizeUnit;
+import com.github.bernardpletikosa.indicators.metrics.IndicatorMetrics;
+import com.github.bernardpletikosa.indicators.metrics.IndicatorMetricsListener;
+import com.github.bernardpletikosa.indicators.text.GlyphAtlas;
+import com.github.bernardpletikosa.indicators.text.ValueFormatter;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
-import static android.animation.ValueAnimator.AnimatorUpdateListener;
 import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_ANIM_DURATION;
 import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_MAX_VALUE;
 import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_MIN_VALUE;
+import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_REST_THRESHOLD;
+import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_SPRING_DAMPING_RATIO;
+import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_SPRING_STIFFNESS;
+import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_TEXT_SIZE;
 import static com.github.bernardpletikosa.indicators.consts.Defaults.NO_VALUE;
 
 public abstract class IndicatorView extends View {
 
+    private static final int DEFAULT_PEAK_MARKER_WIDTH_DP = 2;
+
+    // Pending target is kept as float bits with a flag in the upper half, 0 means no pending value
+    private static final long NO_PENDING_TARGET = 0;
+    private static final long PENDING_TARGET_FLAG = 1L << 32;
+
     protected final Context mContext;
 
     protected float mMinValue;
@@ -40,24 +57,87 @@ public abstract class IndicatorView extends View {
     protected float mTargetValue;
     protected float mCurrentValue;
 
-    protected Paint mMainPaint = new Paint();
-    protected Paint mBackgroundPaint = new Paint();
+    private final AtomicLong mPendingTarget = new AtomicLong(NO_PENDING_TARGET);
+    private final AtomicBoolean mPendingTargetPosted = new AtomicBoolean();
+    private final Runnable mPendingTargetRunnable = new Runnable() {
+        @Override
+        public void run() {
+            applyPendingTarget();
+        }
+    };
+    private final AtomicBoolean mInvalidatePosted = new AtomicBoolean();
+    private final Runnable mInvalidateRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mInvalidatePosted.set(false);
+            invalidate();
+        }
+    };
+
+    protected IndicatorStyle mStyle = IndicatorStyle.DEFAULT;
 
     //Indicator text
-    protected Paint mTextPaint = new Paint();
+    protected Paint.Align mTextAlign = Paint.Align.CENTER;
     protected int mTextPositionX;
     protected int mTextPositionY;
     protected boolean mTextShow = true;
     protected boolean mTextAnimate = true;
     protected boolean mTextValueDecimal = false;
-    protected int mTextSize = 100;
     protected String mTextPrefix = "";
     protected String mTextSuffix = "";
+    protected final ValueFormatter mTextFormatter = new ValueFormatter();
+    protected boolean mTextGlyphAtlas = false;
+    private GlyphAtlas mGlyphAtlas;
 
     protected int mAnimationDuration;
     protected Interpolator mInterpolator;
-    protected ValueAnimator mValueAnimator;
     protected Animator.AnimatorListener mAnimationListener;
+    protected final IndicatorAnimation mAnimation = new IndicatorAnimation();
+    protected final RectF mDirtyRect = new RectF();
+
+    //Peak hold, tracked in absolute values and stepped with animation frames
+    private final PeakHold mPeakHold = new PeakHold();
+    private volatile boolean mPeakHoldEnabled;
+    private float mPeakDecay = NO_VALUE;
+    protected float mPeakMarkerWidth;
+    private final AtomicLong mPendingPeak = new AtomicLong(NO_PENDING_TARGET);
+    private final StaticLayer mStaticLayer = new StaticLayer();
+    private Animator mListenerAnimator;
+    private final IndicatorPreset mXmlPreset;
+
+    private static final int NO_ORIENTATION = -1;
+    private int mScreenOrientation = NO_ORIENTATION;
+    private boolean mMeasureCached;
+    private int mCachedWidthSpec;
+    private int mCachedHeightSpec;
+    private int mCachedOrientation;
+    private int mCachedWidth;
+    private int mCachedHeight;
+
+    private int mEditDepth;
+    private boolean mPendingLayout;
+    private boolean mPendingShape;
+    private boolean mPendingAnimation;
+
+    private static boolean sTraceEnabled;
+    private final String mTraceMeasure;
+    private final String mTraceDraw;
+    private final String mTraceText;
+    private final String mTraceFrame;
+
+    private IndicatorMetrics mMetrics;
+    private IndicatorMetricsListener mMetricsListener;
+    private long mFrameUpdateNanos;
+    private int mAnimationFrames;
+
+    private final IndicatorUtil.InterpolatorEasing mEasing = new IndicatorUtil.InterpolatorEasing();
+
+    private final FrameClock.Callback mFrameCallback = new FrameClock.Callback() {
+        @Override
+        public boolean doFrame(long frameTimeNanos) {
+            return doAnimationFrame(frameTimeNanos);
+        }
+    };
 
     public IndicatorView(Context context) {
         this(context, null);
@@ -68,48 +148,87 @@ public abstract class IndicatorView extends View {
     }
 
     public IndicatorView(Context context, AttributeSet attrs, int defStyle) {
-        super(context, attrs);
+        this(context, attrs, defStyle, 0);
+    }
+
+    public IndicatorView(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+        super(context, attrs, defStyleAttr);
 
         mContext = context;
+        mXmlPreset = IndicatorPreset.obtain(context, attrs, defStyleAttr, defStyleRes);
 
-        setXmlValues(context.getTheme().obtainStyledAttributes(attrs, R.styleable.Indicators, 0, 0));
+        String name = getClass().getSimpleName();
+        mTraceMeasure = name + "#onMeasure";
+        mTraceDraw = name + "#onDraw";
+        mTraceText = name + "#drawText";
+        mTraceFrame = name + "#animationFrame";
+
+        setXmlValues(mXmlPreset);
     }
 
     @Override
     protected void onAttachedToWindow() {
         super.onAttachedToWindow();
 
+        // Display may have rotated while detached
+        mScreenOrientation = NO_ORIENTATION;
         if (mTargetValue != NO_VALUE) draw();
+        applyPendingTarget();
     }
 
-    private void setXmlValues(TypedArray array) {
-        float min = array.getFloat(R.styleable.Indicators_min_value, DEFAULT_MIN_VALUE);
-        float max = array.getFloat(R.styleable.Indicators_max_value, DEFAULT_MAX_VALUE);
-        setRange(min, max);
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
 
-        mTargetValue = array.getFloat(R.styleable.Indicators_target_value, NO_VALUE);
-        mAnimationDuration = array.getInt(R.styleable.Indicators_animation_duration, DEFAULT_ANIM_DURATION);
+        mPeakHold.reset();
+        releaseGlyphAtlas();
+        mStaticLayer.release();
+    }
 
-        mTextShow = array.getBoolean(R.styleable.Indicators_text_show, true);
-        mTextAnimate = array.getBoolean(R.styleable.Indicators_text_animate, true);
-        mTextSize = (int) array.getDimension(R.styleable.Indicators_text_size, DEFAULT_MAX_VALUE);
-        setTextIndicationDecimal(array.getBoolean(R.styleable.Indicators_text_value_decimal, false));
+    @Override
+    protected void onConfigurationChanged(Configuration newConfig) {
+        super.onConfigurationChanged(newConfig);
 
-        mTextPrefix = array.getString(R.styleable.Indicators_text_prefix);
-        if (mTextPrefix == null) mTextPrefix = "";
-        mTextSuffix = array.getString(R.styleable.Indicators_text_suffix);
-        if (mTextSuffix == null) mTextSuffix = "";
+        mScreenOrientation = NO_ORIENTATION;
+        mMeasureCached = false;
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
 
-        setColors(array);
+        invalidateStaticLayer();
     }
 
-    private void setColors(TypedArray array) {
-        int color = array.getColor(R.styleable.Indicators_main_color, R.color.main);
-        setMainColor(color);
-        color = array.getColor(R.styleable.Indicators_background_color, R.color.background);
-        setBackGroundColor(color);
-        color = array.getColor(R.styleable.Indicators_text_color, R.color.text);
-        setTextColor(color);
+    private void setXmlValues(IndicatorPreset preset) {
+        setRange(preset.getMinValue(), preset.getMaxValue());
+
+        mTargetValue = preset.getTargetValue();
+        mAnimationDuration = preset.getAnimationDuration();
+        mAnimation.setMode(preset.getAnimationMode());
+        setSpring(preset.getSpringStiffness(), preset.getSpringDampingRatio());
+        mPeakHold.setHoldTime(preset.getPeakHoldTime());
+        mPeakDecay = preset.getPeakDecay();
+        updatePeakDecay();
+        mPeakMarkerWidth = preset.getPeakMarkerWidth() > 0 ? preset.getPeakMarkerWidth() : dpToPixel(DEFAULT_PEAK_MARKER_WIDTH_DP);
+        if (preset.isSoftwareLayer()) setSoftwareLayer(true);
+
+        mTextShow = preset.isTextShow();
+        mTextAnimate = preset.isTextAnimate();
+        setTextIndicationDecimal(preset.isTextDecimal());
+        mTextGlyphAtlas = preset.isTextGlyphAtlas();
+        setTextPrefix(preset.getTextPrefix());
+        setTextSuffix(preset.getTextSuffix());
+
+        setStyle(preset.getStyle());
+    }
+
+    /**
+     * @return preset with xml attributes this indicator was created with, shared between
+     * indicators with the same attributes
+     */
+    protected IndicatorPreset getXmlPreset() {
+        return mXmlPreset;
     }
 
     /**
@@ -123,11 +242,53 @@ public abstract class IndicatorView extends View {
     }
 
     /**
-     * Sets {@link android.animation.Animator.AnimatorListener}.
+     * Sets {@link android.animation.Animator.AnimatorListener}. Animator passed to listener
+     * represents this indicator's animation.
      */
     public void setAnimationListener(Animator.AnimatorListener listener) throws IllegalArgumentException {
         checkArgument(listener, "AnimationListener");
         mAnimationListener = listener;
+        if (mListenerAnimator == null) mListenerAnimator = new ListenerAnimator();
+    }
+
+    /**
+     * Enables frame timing instrumentation recording draw and measure durations, latency from
+     * animation update to draw, frames per animation and cancelled and restarted animations.
+     * Same metrics instance can be shared by several indicators. Default is null, instrumentation
+     * is disabled and costs a single null check per frame.
+     * @param metrics metrics to record into, null to disable
+     */
+    public void setMetrics(IndicatorMetrics metrics) {
+        mMetrics = metrics;
+        mFrameUpdateNanos = 0;
+        mAnimationFrames = 0;
+    }
+
+    /**
+     * Enables trace sections for measure, draw, text drawing and animation frames of all
+     * indicators, named by indicator class like {@code PieIndicator#onDraw}, so they show up in
+     * system traces. Tracing needs API 18, on older platforms this method has no effect.
+     * Default is false. Call from the main thread only.
+     * @param enabled true to emit trace sections, false otherwise
+     */
+    public static void setTraceEnabled(boolean enabled) {
+        sTraceEnabled = enabled && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2;
+    }
+
+    /**
+     * @return true if indicators emit trace sections, false otherwise
+     */
+    public static boolean isTraceEnabled() {
+        return sTraceEnabled;
+    }
+
+    /**
+     * Sets listener notified whenever animation metrics are recorded. Metrics must be enabled
+     * with {@link #setMetrics(com.github.bernardpletikosa.indicators.metrics.IndicatorMetrics)}.
+     * @param listener metrics listener, null to remove
+     */
+    public void setMetricsListener(IndicatorMetricsListener listener) {
+        mMetricsListener = listener;
     }
 
     /**
@@ -144,22 +305,101 @@ public abstract class IndicatorView extends View {
         mMinValue = minValue;
         mMaxValue = maxValue;
         mValueRange = Math.abs(mMaxValue - mMinValue);
+
+        mPeakHold.reset();
+        updatePeakDecay();
     }
 
     /**
      * Sets value to be indicated. Value is automatically animated when this method is used.
+     * <p>Method can be called from any thread. Values set from other threads are collected in a
+     * single slot where the newest value wins, and the slot is applied on the main thread at most
+     * once per frame, so high frequency producers don't flood the main thread.</p>
      * XML parameter {@link com.github.bernardpletikosa.indicators.R.attr#target_value}
      * @param value target value
      */
     public void indicate(float value) {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            mPendingTarget.set(NO_PENDING_TARGET);
+            setTargetValue(value);
+            return;
+        }
+
+        if (mPeakHoldEnabled) raisePendingPeak(value);
+        mPendingTarget.set(PENDING_TARGET_FLAG | (Float.floatToRawIntBits(value) & 0xFFFFFFFFL));
+        postOnFrame(mPendingTargetPosted, mPendingTargetRunnable);
+    }
+
+    /**
+     * Invalidates the view from any thread. Requests from other threads are posted to the main
+     * thread at most once per frame, for indicators redrawn on every recorded value.
+     */
+    protected final void invalidateFromAnyThread() {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            invalidate();
+            return;
+        }
+
+        postOnFrame(mInvalidatePosted, mInvalidateRunnable);
+    }
+
+    // Posts runnable to next frame unless it is already posted, runnable clears posted flag
+    private void postOnFrame(AtomicBoolean posted, Runnable runnable) {
+        if (!posted.compareAndSet(false, true)) return;
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN)
+            postOnAnimation(runnable);
+        else if (!post(runnable))
+            posted.set(false);
+    }
+
+    private void applyPendingTarget() {
+        mPendingTargetPosted.set(false);
+
+        long pendingPeak = mPendingPeak.getAndSet(NO_PENDING_TARGET);
+        if (pendingPeak != NO_PENDING_TARGET && mPeakHoldEnabled) {
+            float peak = Float.intBitsToFloat((int) pendingPeak);
+            if (peak <= mMaxValue && peak >= mMinValue) offerPeak(peak);
+        }
+
+        long pending = mPendingTarget.getAndSet(NO_PENDING_TARGET);
+        if (pending != NO_PENDING_TARGET) setTargetValue(Float.intBitsToFloat((int) pending));
+    }
+
+    // Highest value indicated from other threads since last applied target, so coalescing
+    // targets doesn't lose peaks
+    private void raisePendingPeak(float value) {
+        final long update = PENDING_TARGET_FLAG | (Float.floatToRawIntBits(value) & 0xFFFFFFFFL);
+        while (true) {
+            long pending = mPendingPeak.get();
+            if (pending != NO_PENDING_TARGET && Float.intBitsToFloat((int) pending) >= value) return;
+            if (mPendingPeak.compareAndSet(pending, update)) return;
+        }
+    }
+
+    private void setTargetValue(float value) {
         if (value > mMaxValue || value < mMinValue) {
             Log.e("IndicatorView", "Target value " + value + " is out of range!");
-        } else if (mTargetValue != value) {
+            return;
+        }
+
+        if (mPeakHoldEnabled) offerPeak(value);
+        if (mTargetValue != value) {
             mTargetValue = value;
-            draw();
+            animateToTarget();
         }
     }
 
+    private void offerPeak(float value) {
+        final boolean active = mPeakHold.isActive();
+        final float previous = mPeakHold.getPeak();
+        if (mPeakHold.offer(value + Math.abs(mMinValue), System.nanoTime()))
+            invalidatePeakChange(active ? previous : mPeakHold.getPeak(), mPeakHold.getPeak());
+
+        // Held peak needs frames to start decaying
+        FrameClock.getInstance().start(mFrameCallback);
+    }
+
     /**
      * Sets animation duration. If set to 0 there will be no animation. Default animation
      * duration is 500 milliseconds.
@@ -171,6 +411,43 @@ public abstract class IndicatorView extends View {
         mAnimationDuration = duration;
     }
 
+    /**
+     * <p>Sets how new target values affect animation in progress.</p>
+     * XML parameter {@link com.github.bernardpletikosa.indicators.R.attr#animation_mode}
+     * Possible values are:
+     * <ul>
+     * <li>{@link AnimationMode#RESTART} - animation is restarted from rest using interpolator (default)</li>
+     * <li>{@link AnimationMode#RETARGET} - running animation is redirected to new target keeping its
+     * current velocity and settles at target after animation duration, interpolator is not used.
+     * Suited for targets changing faster than animation duration.</li>
+     * <li>{@link AnimationMode#SPRING} - value follows target on a damped spring set with
+     * {@link #setSpring(float, float)}, duration and interpolator are not used. Animation stops
+     * as soon as indicator is within half a pixel of target.</li>
+     * </ul>
+     * @param mode animation mode
+     */
+    public void setAnimationMode(AnimationMode mode) throws IllegalArgumentException {
+        checkArgument(mode, "animation mode");
+        mAnimation.setMode(mode);
+    }
+
+    /**
+     * Sets spring used in {@link AnimationMode#SPRING} animation mode. Default spring has
+     * stiffness 200 and damping ratio 1 (critically damped).
+     * XML parameters {@link com.github.bernardpletikosa.indicators.R.attr#spring_stiffness} and
+     * {@link com.github.bernardpletikosa.indicators.R.attr#spring_damping_ratio}
+     * @param stiffness    spring stiffness, higher is faster
+     * @param dampingRatio 1 for no overshoot, lower values bounce around target, greater than 0
+     *                     as undamped spring never comes to rest
+     */
+    public void setSpring(float stiffness, float dampingRatio) throws IllegalArgumentException {
+        if (stiffness <= 0)
+            throw new IllegalArgumentException("Argument spring stiffness can't be less or equal to 0.");
+        checkDampingRatio(dampingRatio);
+
+        mAnimation.setSpring(stiffness, dampingRatio);
+    }
+
     /**
      * Sets main color for animating value.
      * XML parameter {@link com.github.bernardpletikosa.indicators.R.attr#main_color}
@@ -178,8 +455,7 @@ public abstract class IndicatorView extends View {
      */
     public void setMainColor(int mainColor) {
         if (mainColor == 0) return;
-        mMainPaint.setColor(mainColor);
-        mMainPaint.setAntiAlias(true);
+        setStyle(mStyle.withMainColor(mainColor));
     }
 
     /**
@@ -189,8 +465,26 @@ public abstract class IndicatorView extends View {
      */
     public void setBackGroundColor(int backgroundColor) {
         if (backgroundColor == 0) return;
-        mBackgroundPaint.setColor(backgroundColor);
-        mBackgroundPaint.setAntiAlias(true);
+        setStyle(mStyle.withBackgroundColor(backgroundColor));
+    }
+
+    /**
+     * Sets indicator look. Styles are immutable and shared, so the same style can be set on any
+     * number of indicators, and color and text setters replace it with a customized copy.
+     * @param style see {@link IndicatorStyle}
+     */
+    public void setStyle(IndicatorStyle style) throws IllegalArgumentException {
+        checkArgument(style, "style");
+        if (style == mStyle) return;
+
+        // Text metrics are used for text position calculated while measuring
+        final boolean textChanged = style.getTextSize() != mStyle.getTextSize()
+                || style.getTypeface() != mStyle.getTypeface();
+        mStyle = style;
+
+        invalidateStaticLayer();
+        if (textChanged) requestIndicatorLayout();
+        invalidate();
     }
 
     /**
@@ -198,7 +492,7 @@ public abstract class IndicatorView extends View {
      * @return true if animation is in progress, false otherwise
      */
     public boolean isAnimating() {
-        return mValueAnimator != null && mValueAnimator.isRunning();
+        return mAnimation.isRunning();
     }
 
     /**
@@ -206,48 +500,347 @@ public abstract class IndicatorView extends View {
      * @return true if animation is stopped, false otherwise
      */
     public boolean cancelAnimating() {
-        if (mValueAnimator != null) {
-            mValueAnimator.cancel();
-            return true;
+        if (!mAnimation.isRunning()) return false;
+
+        if (mMetrics != null) {
+            mMetrics.recordCancel();
+            recordAnimation();
         }
+        stopAnimating();
+
+        return true;
+    }
 
-        return false;
+    private void stopAnimating() {
+        mAnimation.cancel();
+        if (mAnimationListener != null) {
+            mAnimationListener.onAnimationCancel(mListenerAnimator);
+            mAnimationListener.onAnimationEnd(mListenerAnimator);
+        }
     }
 
     /**
-     * Main method for animating value changes. It uses {@link android.animation.ValueAnimator}
-     * to time animations correctly. This method is automatically called when value is set
+     * Main method for animating value changes. Animation is stepped by shared
+     * {@link com.github.bernardpletikosa.indicators.anim.FrameClock} together with all other
+     * running indicator animations. This method is automatically called when value is set
      * with {@link #indicate(float)} method
-     * Uses {@link AnimatorUpdateListener} provided by #getUpdateListener method.
+     * Uses position shift provided by #calculateShift method.
      */
     public void draw() {
-        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.HONEYCOMB_MR1) return;
+        invalidate();
+        animateToTarget();
+    }
 
-        if (isAnimating()) cancelAnimating();
+    /**
+     * Starts batch of configuration changes. Until matching {@link #apply()} setters only
+     * record what has to be updated, {@link #apply()} then runs at most one layout pass, one
+     * shape rebuild and one animation. Batches can be nested, changes are applied when the
+     * outermost one ends.
+     */
+    public void edit() {
+        mEditDepth++;
+    }
+
+    /**
+     * Ends batch of configuration changes started with {@link #edit()} and applies them.
+     */
+    public void apply() throws IllegalStateException {
+        if (mEditDepth == 0)
+            throw new IllegalStateException("apply() called without edit().");
+        if (--mEditDepth > 0) return;
+
+        // Measure pass rebuilds shapes anyway
+        if (mPendingLayout) requestIndicatorLayout();
+        else if (mPendingShape) onShapeChanged();
+        mPendingLayout = false;
+        mPendingShape = false;
+
+        invalidate();
+        if (mPendingAnimation) {
+            mPendingAnimation = false;
+            animateToTarget();
+        }
+    }
+
+    /**
+     * @return true between {@link #edit()} and {@link #apply()}, false otherwise
+     */
+    public boolean isEditing() {
+        return mEditDepth > 0;
+    }
+
+    private void animateToTarget() {
+        if (mEditDepth > 0) {
+            mPendingAnimation = true;
+            return;
+        }
+
+        final boolean running = isAnimating();
+        final boolean retarget = mAnimation.getMode() != AnimationMode.RESTART && running;
+        if (running && mMetrics != null) {
+            mMetrics.recordRestart();
+            recordAnimation();
+        }
+        if (!retarget && running) stopAnimating();
 
         mOldValue = mCurrentValue;
 
-        mValueAnimator = ValueAnimator.ofFloat(0, 1);
-        mValueAnimator.setDuration(mAnimationDuration);
+        if (mInterpolator == null) mInterpolator = IndicatorUtil.DEFAULT_INTERPOLATOR;
+        mEasing.setInterpolator(mInterpolator);
+        mAnimation.setRestThreshold(DEFAULT_REST_THRESHOLD / getPixelsPerUnit());
+        mAnimation.start(mOldValue, mAnimationDuration, mEasing);
+        FrameClock.getInstance().start(mFrameCallback);
+
+        if (!retarget && mAnimationListener != null) mAnimationListener.onAnimationStart(mListenerAnimator);
+    }
+
+    private boolean doAnimationFrame(long frameTimeNanos) {
+        if (!sTraceEnabled) return stepAnimation(frameTimeNanos);
+
+        Trace.beginSection(mTraceFrame);
+        boolean running = stepAnimation(frameTimeNanos);
+        Trace.endSection();
+        return running;
+    }
+
+    private boolean stepAnimation(long frameTimeNanos) {
+        final boolean animating = mAnimation.isRunning() && stepValue(frameTimeNanos);
+        final boolean peak = mPeakHoldEnabled && stepPeak(frameTimeNanos);
+        return animating || peak;
+    }
+
+    private boolean stepValue(long frameTimeNanos) {
+        final float absoluteTarget = mTargetValue + Math.abs(mMinValue);
+        final float previousValue = mCurrentValue;
+        boolean running = mAnimation.step(frameTimeNanos, mOldValue + calculateShift(absoluteTarget));
+        mCurrentValue = mAnimation.getValue();
+
+        invalidateValueChange(previousValue, mCurrentValue);
+
+        if (mMetrics != null) {
+            if (mFrameUpdateNanos == 0) mFrameUpdateNanos = System.nanoTime();
+            mAnimationFrames++;
+            if (!running) recordAnimation();
+        }
+
+        if (!running && mAnimationListener != null)
+            mAnimationListener.onAnimationEnd(mListenerAnimator);
+
+        // Listener may have started a new animation
+        return mAnimation.isRunning();
+    }
+
+    // Held peak doesn't move, so it invalidates nothing until it decays
+    private boolean stepPeak(long frameTimeNanos) {
+        if (!mPeakHold.isActive()) return false;
+
+        final float previous = mPeakHold.getPeak();
+        final boolean running = mPeakHold.step(frameTimeNanos, getIndicatedValue());
+        if (!running || previous != mPeakHold.getPeak()) invalidatePeakChange(previous, mPeakHold.getPeak());
+        return running;
+    }
+
+    private void recordAnimation() {
+        mMetrics.recordAnimation(mAnimationFrames);
+        mAnimationFrames = 0;
+        if (mMetricsListener != null) mMetricsListener.onAnimationRecorded(this, mMetrics);
+    }
 
-        if (mAnimationListener != null) mValueAnimator.addListener(mAnimationListener);
+    @Override
+    public void draw(Canvas canvas) {
+        final boolean trace = sTraceEnabled;
+        if (mMetrics == null && !trace) {
+            super.draw(canvas);
+            return;
+        }
 
-        if (mInterpolator == null) mInterpolator = new AccelerateDecelerateInterpolator();
-        mValueAnimator.setInterpolator(mInterpolator);
-        mValueAnimator.addUpdateListener(getUpdateListener());
-        mValueAnimator.start();
+        if (trace) Trace.beginSection(mTraceDraw);
+        final long start = System.nanoTime();
+        super.draw(canvas);
+        final long end = System.nanoTime();
+        if (trace) Trace.endSection();
+
+        if (mMetrics == null) return;
+        mMetrics.recordDraw(end - start);
+        if (mFrameUpdateNanos != 0) {
+            mMetrics.recordUpdateToDraw(end - mFrameUpdateNanos);
+            mFrameUpdateNanos = 0;
+        }
+    }
+
+    /**
+     * Starts timing and trace section of measure pass, call at the start of onMeasure.
+     * @return section start token for {@link #endMeasureSection(long)}
+     */
+    protected final long beginMeasureSection() {
+        if (sTraceEnabled) Trace.beginSection(mTraceMeasure);
+        return mMetrics == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Ends timing and trace section of measure pass, call at the end of onMeasure.
+     * @param start token returned by {@link #beginMeasureSection()}
+     */
+    protected final void endMeasureSection(long start) {
+        if (mMetrics != null && start != 0) mMetrics.recordMeasure(System.nanoTime() - start);
+        if (sTraceEnabled) Trace.endSection();
+    }
+
+    /**
+     * Sets dimension measured last time if measure specs and screen orientation didn't change
+     * since and no layout affecting property was set, call at the start of onMeasure and return
+     * if it succeeds.
+     * @return true if cached dimension was set, false if indicator has to be measured
+     */
+    protected final boolean setCachedMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        if (!mMeasureCached || widthMeasureSpec != mCachedWidthSpec || heightMeasureSpec != mCachedHeightSpec
+                || getScreenOrientation() != mCachedOrientation) return false;
+
+        setMeasuredDimension(mCachedWidth, mCachedHeight);
+        return true;
+    }
+
+    /**
+     * Remembers measured dimension for {@link #setCachedMeasure(int, int)}, call at the end of
+     * onMeasure.
+     */
+    protected final void cacheMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        mCachedWidthSpec = widthMeasureSpec;
+        mCachedHeightSpec = heightMeasureSpec;
+        mCachedOrientation = getScreenOrientation();
+        mCachedWidth = getMeasuredWidth();
+        mCachedHeight = getMeasuredHeight();
+        mMeasureCached = true;
+    }
+
+    /**
+     * Drops cached measure and requests layout. Use only for properties changing indicator size
+     * or anything calculated while measuring, draw only properties just invalidate.
+     */
+    protected void requestIndicatorLayout() {
+        mMeasureCached = false;
+        if (mEditDepth > 0) {
+            mPendingLayout = true;
+            return;
+        }
+        requestLayout();
+    }
+
+    /**
+     * Rebuilds drawing state after a draw only property changed, deferred while editing.
+     * See {@link #onShapeChanged()}.
+     */
+    protected final void invalidateShape() {
+        if (mEditDepth > 0) {
+            mPendingShape = true;
+            return;
+        }
+        onShapeChanged();
+    }
+
+    /**
+     * Called when shape has to be rebuilt without measuring, indicator size stays the same.
+     * Default implementation invalidates static layer.
+     */
+    protected void onShapeChanged() {
+        invalidateStaticLayer();
     }
 
     protected void drawText(Canvas canvas, float currentValue) {
         if (!mTextShow) return;
+        if (!sTraceEnabled) {
+            drawValueText(canvas, currentValue);
+            return;
+        }
+
+        Trace.beginSection(mTraceText);
+        drawValueText(canvas, currentValue);
+        Trace.endSection();
+    }
 
+    private void drawValueText(Canvas canvas, float currentValue) {
         float val = mTextAnimate ? currentValue + mMinValue : mTargetValue;
-        if (mTextValueDecimal) {
-            canvas.drawText(mTextPrefix + String.format("%.2f", new BigDecimal(val).setScale(2, RoundingMode.HALF_EVEN)) + mTextSuffix,
-                    mTextPositionX, mTextPositionY, mTextPaint);
-        } else
-            canvas.drawText(mTextPrefix + (int) val + mTextSuffix,
-                    mTextPositionX, mTextPositionY, mTextPaint);
+        int length = mTextFormatter.format(val, mTextValueDecimal);
+        if (mTextGlyphAtlas && drawGlyphText(canvas, length)) return;
+
+        canvas.drawText(mTextFormatter.getBuffer(), 0, length, mTextPositionX, mTextPositionY,
+                mStyle.getTextPaint(mTextAlign));
+    }
+
+    private boolean drawGlyphText(Canvas canvas, int length) {
+        final Paint paint = mStyle.getTextPaint(mTextAlign);
+        if (mGlyphAtlas == null || !mGlyphAtlas.matches(paint, mTextPrefix, mTextSuffix)) {
+            releaseGlyphAtlas();
+            mGlyphAtlas = GlyphAtlas.obtain(paint, mTextPrefix, mTextSuffix);
+        }
+
+        return mGlyphAtlas.draw(canvas, mTextFormatter.getBuffer(), mTextFormatter.getPrefixLength(),
+                length - mTextFormatter.getSuffixLength(), mTextPositionX, mTextPositionY, mTextAlign);
+    }
+
+    private void releaseGlyphAtlas() {
+        if (mGlyphAtlas == null) return;
+
+        mGlyphAtlas.release();
+        mGlyphAtlas = null;
+    }
+
+    /**
+     * Method must be overriden for every specific type of indicator.
+     * Draws indicator at {@link #mCurrentValue}.
+     * @param canvas canvas to draw on
+     */
+    @Override
+    protected abstract void onDraw(Canvas canvas);
+
+    /**
+     * Draws parts of indicator which don't depend on value, like background shape. Drawing is
+     * recorded once and replayed on every frame until {@link #invalidateStaticLayer()} is called.
+     * Default implementation draws nothing.
+     * @param canvas canvas to draw static parts on
+     */
+    protected void onDrawStatic(Canvas canvas) {
+    }
+
+    /**
+     * Draws cached static parts of indicator, see {@link #onDrawStatic(android.graphics.Canvas)}.
+     * @param canvas canvas passed to onDraw
+     */
+    protected void drawStatic(Canvas canvas) {
+        mStaticLayer.draw(canvas, this);
+    }
+
+    /**
+     * Marks cached static parts as outdated. Must be called whenever anything drawn in
+     * {@link #onDrawStatic(android.graphics.Canvas)} changes (geometry, colors...).
+     */
+    protected void invalidateStaticLayer() {
+        mStaticLayer.invalidate();
+    }
+
+    /**
+     * Invalidates area which changes when drawn position moves between two values. Default
+     * implementation invalidates whole view, indicators override it to redraw only changed
+     * geometry with {@link #invalidateDirty(android.graphics.RectF)}.
+     * @param oldValue position drawn on previous frame
+     * @param newValue position to draw on next frame
+     */
+    protected void invalidateValueChange(float oldValue, float newValue) {
+        invalidate();
+    }
+
+    /**
+     * Invalidates given area together with text area, if text is shown.
+     * @param dirty changed area, is modified by this method
+     */
+    protected void invalidateDirty(RectF dirty) {
+        if (mTextShow)
+            dirty.union(0, mTextPositionY + mStyle.getTextPaint().ascent(), getWidth(),
+                    mTextPositionY + mStyle.getTextPaint().descent());
+
+        // One extra pixel for anti aliased edges
+        invalidate((int) Math.floor(dirty.left) - 1, (int) Math.floor(dirty.top) - 1,
+                (int) Math.ceil(dirty.right) + 1, (int) Math.ceil(dirty.bottom) + 1);
     }
 
     /**
@@ -257,11 +850,7 @@ public abstract class IndicatorView extends View {
      */
     public void setTextColor(int textColor) {
         if (textColor == 0) return;
-
-        mTextPaint.setColor(textColor);
-        mTextPaint.setAntiAlias(true);
-        mTextPaint.setTextAlign(Paint.Align.CENTER);
-        mTextPaint.setTextSize(mTextSize);
+        setStyle(mStyle.withTextColor(textColor));
     }
 
     /**
@@ -282,6 +871,30 @@ public abstract class IndicatorView extends View {
         mTextValueDecimal = floatIndication;
     }
 
+    /**
+     * Sets text rendering from pre-rasterized glyphs. Digits, sign, decimal point, prefix and
+     * suffix are rendered once into a bitmap shared by all indicators with the same text
+     * typeface, size and color, and value text is then drawn glyph by glyph from it.
+     * Useful for large or many animated texts. Default is false.
+     * XML parameter {@link com.github.bernardpletikosa.indicators.R.attr#text_glyph_atlas}
+     * @param glyphAtlas true to draw text from shared glyph atlas, false otherwise
+     */
+    public void setTextGlyphAtlas(boolean glyphAtlas) {
+        mTextGlyphAtlas = glyphAtlas;
+        if (!glyphAtlas) releaseGlyphAtlas();
+    }
+
+    /**
+     * Renders indicator into a software layer instead of drawing it with hardware acceleration.
+     * Indicators are fully hardware accelerated by default, software layer is only needed for
+     * custom paints using features hardware canvas doesn't support on older platforms.
+     * XML parameter {@link com.github.bernardpletikosa.indicators.R.attr#software_layer}
+     * @param softwareLayer true to render in software layer, false otherwise
+     */
+    public void setSoftwareLayer(boolean softwareLayer) {
+        setLayerType(softwareLayer ? LAYER_TYPE_SOFTWARE : LAYER_TYPE_NONE, null);
+    }
+
     /**
      * Sets indicator textual presentation style. Set to true to animate text change until target
      * value, false otherwise.
@@ -304,7 +917,7 @@ public abstract class IndicatorView extends View {
         checkArgument(unit, "SizeUnit");
         checkNegativeOrZero(size, "text size");
 
-        mTextSize = unit == SizeUnit.DP ? (int) dpToPixel(size) : size;
+        setStyle(mStyle.withTextSize(unit == SizeUnit.DP ? (int) dpToPixel(size) : size));
     }
 
     /**
@@ -315,6 +928,8 @@ public abstract class IndicatorView extends View {
     public void setTextPrefix(String textPrefix) {
         checkArgument(textPrefix, "Text prefix");
         mTextPrefix = textPrefix;
+        mTextFormatter.setPrefix(textPrefix);
+        releaseGlyphAtlas();
     }
 
     /**
@@ -323,8 +938,10 @@ public abstract class IndicatorView extends View {
      * @param textSuffix
      */
     public void setTextSuffix(String textSuffix) {
-        checkArgument(mTextSuffix, "Text sufffix");
+        checkArgument(textSuffix, "Text sufffix");
         mTextSuffix = textSuffix;
+        mTextFormatter.setSuffix(textSuffix);
+        releaseGlyphAtlas();
     }
 
     /**
@@ -345,7 +962,14 @@ public abstract class IndicatorView extends View {
      * @return text size in pixels
      */
     public int getTextSize() {
-        return mTextSize;
+        return (int) mStyle.getTextSize();
+    }
+
+    /**
+     * @return current indicator style
+     */
+    public IndicatorStyle getStyle() {
+        return mStyle;
     }
 
     /**
@@ -355,6 +979,20 @@ public abstract class IndicatorView extends View {
         return mTextAnimate;
     }
 
+    /**
+     * @return true if text is drawn from shared glyph atlas, false otherwise
+     */
+    public boolean isUsingTextGlyphAtlas() {
+        return mTextGlyphAtlas;
+    }
+
+    /**
+     * @return true if indicator is rendered in software layer, false otherwise
+     */
+    public boolean isUsingSoftwareLayer() {
+        return getLayerType() == LAYER_TYPE_SOFTWARE;
+    }
+
     /**
      * @return true if text is shown, false otherwise
      */
@@ -395,6 +1033,27 @@ public abstract class IndicatorView extends View {
         return mAnimationDuration;
     }
 
+    /**
+     * @return animation mode
+     */
+    public AnimationMode getAnimationMode() {
+        return mAnimation.getMode();
+    }
+
+    /**
+     * @return spring stiffness used in {@link AnimationMode#SPRING} mode
+     */
+    public float getSpringStiffness() {
+        return mAnimation.getStiffness();
+    }
+
+    /**
+     * @return spring damping ratio used in {@link AnimationMode#SPRING} mode
+     */
+    public float getSpringDampingRatio() {
+        return mAnimation.getDampingRatio();
+    }
+
     /**
      * @return interpolator
      */
@@ -402,6 +1061,20 @@ public abstract class IndicatorView extends View {
         return mInterpolator;
     }
 
+    /**
+     * @return metrics recorded by this indicator, null if instrumentation is disabled
+     */
+    public IndicatorMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    /**
+     * @return metrics listener
+     */
+    public IndicatorMetricsListener getMetricsListener() {
+        return mMetricsListener;
+    }
+
     /**
      * @return animation listener
      */
@@ -411,11 +1084,120 @@ public abstract class IndicatorView extends View {
 
     /**
      * Method must be overriden for every specific type of indicator.
-     * Use {@link AnimatorUpdateListener#onAnimationUpdate(android.animation.ValueAnimator)} to
-     * calculate current value before every drawing cycle.
-     * @return {@link AnimatorUpdateListener}
+     * Calculates shift of drawn position (angle, length, radius...) from {@link #mOldValue} to
+     * the position of target value. Called on every animation frame.
+     * @param absoluteTarget target value shifted by minimum value
+     * @return position shift
      */
-    protected abstract AnimatorUpdateListener getUpdateListener();
+    protected abstract float calculateShift(float absoluteTarget);
+
+    /**
+     * Returns how many pixels one unit of drawn position (see #calculateShift) covers.
+     * Used to stop spring animations once they are visually at rest. Default is 1.
+     * @return pixels per position unit
+     */
+    protected float getPixelsPerUnit() {
+        return 1;
+    }
+
+    /**
+     * Enables peak marker showing the highest indicated value, held for peak hold time and then
+     * decaying towards indicated value. Peak is tracked with animation frames and invalidates
+     * the view only while it moves. Marker is drawn by line and pie indicators, other indicators
+     * don't draw it. Default is false.
+     * XML parameter {@link com.github.bernardpletikosa.indicators.R.attr#peak_hold}
+     * @param peakHold true to show peak marker, false otherwise
+     */
+    public void setPeakHold(boolean peakHold) {
+        mPeakHoldEnabled = peakHold;
+        mPeakHold.reset();
+        mPendingPeak.set(NO_PENDING_TARGET);
+
+        invalidate();
+    }
+
+    /**
+     * Sets time peak marker stays in place after peak was reached. Default is 1000 milliseconds.
+     * XML parameter {@link com.github.bernardpletikosa.indicators.R.attr#peak_hold_time}
+     * @param holdTime time in milliseconds
+     */
+    public void setPeakHoldTime(int holdTime) throws IllegalArgumentException {
+        checkNegative(holdTime, "peak hold time");
+        mPeakHold.setHoldTime(holdTime);
+    }
+
+    /**
+     * Sets how fast peak marker falls after hold time. Default is whole value range per second.
+     * XML parameter {@link com.github.bernardpletikosa.indicators.R.attr#peak_decay}
+     * @param decay value units per second
+     */
+    public void setPeakDecay(float decay) throws IllegalArgumentException {
+        if (decay <= 0)
+            throw new IllegalArgumentException("Argument peak decay can't be less or equal to 0.");
+
+        mPeakDecay = decay;
+        updatePeakDecay();
+    }
+
+    /**
+     * Sets peak marker thickness in specified unit, along the line for line indicator and
+     * across the radial marker for pie indicators. Default is 2dp.
+     * XML parameter {@link com.github.bernardpletikosa.indicators.R.attr#peak_marker_width}
+     * @param unit  {@link com.github.bernardpletikosa.indicators.consts.SizeUnit}
+     * @param width marker thickness in specified unit
+     */
+    public void setPeakMarkerWidth(SizeUnit unit, int width) throws IllegalArgumentException {
+        checkArgument(unit, "SizeUnit");
+        checkNegativeOrZero(width, "peak marker width");
+
+        mPeakMarkerWidth = unit == SizeUnit.PX ? width : dpToPixel(width);
+        invalidate();
+    }
+
+    /**
+     * @return true if peak hold is enabled, false otherwise
+     */
+    public boolean isPeakHold() {
+        return mPeakHoldEnabled;
+    }
+
+    /**
+     * @return true if peak marker has to be drawn, false otherwise
+     */
+    protected final boolean hasPeak() {
+        return mPeakHoldEnabled && mPeakHold.isActive();
+    }
+
+    /**
+     * @return peak value shifted by minimum value, like target passed to
+     * {@link #calculateShift(float)}
+     */
+    protected final float getPeak() {
+        return mPeakHold.getPeak();
+    }
+
+    /**
+     * Returns currently drawn value, shifted by minimum value. Peak never decays below it.
+     * Default is target value, indicators override it to follow drawn position.
+     * @return drawn value shifted by minimum value
+     */
+    protected float getIndicatedValue() {
+        return mTargetValue + Math.abs(mMinValue);
+    }
+
+    /**
+     * Invalidates area which changes when peak marker moves between two values. Default
+     * implementation invalidates whole view.
+     * @param oldPeak peak drawn on previous frame, shifted by minimum value
+     * @param newPeak peak to draw on next frame, shifted by minimum value
+     */
+    protected void invalidatePeakChange(float oldPeak, float newPeak) {
+        invalidate();
+    }
+
+    private void updatePeakDecay() {
+        mPeakHold.setDecay(mPeakDecay > 0 ? mPeakDecay : mValueRange);
+    }
 
     /**
      * Converts dp unit to equivalent pixels, depending on device density.
@@ -423,9 +1205,7 @@ public abstract class IndicatorView extends View {
      * @return float value to represent px equivalent to dp depending on device density
      */
     protected float dpToPixel(float dp) {
-        Resources resources = mContext.getResources();
-        DisplayMetrics metrics = resources.getDisplayMetrics();
-        return dp * (metrics.densityDpi / 160f);
+        return IndicatorUtil.dpToPixel(mContext.getResources(), dp);
     }
 
     protected void checkArgument(Object argument, String name) {
@@ -443,14 +1223,69 @@ public abstract class IndicatorView extends View {
             throw new IllegalArgumentException("Argument " + name + " can't be less than 0.");
     }
 
+    //Cached until configuration changes or indicator is attached again
     protected int getScreenOrientation() {
-        WindowManager mWindowManager = (WindowManager) mContext.getSystemService(Context.WINDOW_SERVICE);
-        Display display = mWindowManager.getDefaultDisplay();
-        return display.getOrientation();
+        if (mScreenOrientation == NO_ORIENTATION) {
+            WindowManager windowManager = (WindowManager) mContext.getSystemService(Context.WINDOW_SERVICE);
+            Display display = windowManager.getDefaultDisplay();
+            mScreenOrientation = display.getOrientation();
+        }
+        return mScreenOrientation;
+    }
+
+    // Undamped spring oscillates forever and keeps the shared frame clock ticking
+    static void checkDampingRatio(float dampingRatio) throws IllegalArgumentException {
+        if (dampingRatio <= 0)
+            throw new IllegalArgumentException("Argument spring damping ratio can't be less or equal to 0.");
     }
 
     private void checkRange(float minValue, float maxValue) {
         if (minValue >= maxValue)
             throw new IllegalArgumentException("Invalid range {minValue >= maxValue}");
     }
+
+    //Animator handed to animation listeners, it represents this indicator's animation
+    private class ListenerAnimator extends Animator {
+
+        @Override
+        public void start() {
+            draw();
+        }
+
+        @Override
+        public void cancel() {
+            cancelAnimating();
+        }
+
+        @Override
+        public long getStartDelay() {
+            return 0;
+        }
+
+        @Override
+        public void setStartDelay(long startDelay) {
+            // Start delay is not supported.
+        }
+
+        @Override
+        public Animator setDuration(long duration) {
+            setAnimationDuration((int) duration);
+            return this;
+        }
+
+        @Override
+        public long getDuration() {
+            return mAnimationDuration;
+        }
+
+        @Override
+        public void setInterpolator(TimeInterpolator value) {
+            if (value instanceof Interpolator) IndicatorView.this.setInterpolator((Interpolator) value);
+        }
+
+        @Override
+        public boolean isRunning() {
+            return isAnimating();
+        }
+    }
 }
@@ -0,0 +1,75 @@
+package com.github.bernardpletikosa.indicators;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Picture;
+import android.os.Build;
+
+/**
+ * Caches static part of indicator drawing (parts that don't depend on value) between frames.
+ * <p>On software canvases, including software layers, static part is rasterized once into a
+ * bitmap. On hardware canvases it is recorded into a {@link android.graphics.Picture} on
+ * Marshmallow and newer, older hardware canvases can't replay pictures so static part is
+ * drawn directly and cached by view's display list.</p>
+ */
+class StaticLayer {
+
+    private final Picture mPicture = new Picture();
+    private boolean mPictureValid;
+
+    private Bitmap mBitmap;
+    private Canvas mBitmapCanvas;
+    private boolean mBitmapValid;
+
+    void invalidate() {
+        mPictureValid = false;
+        mBitmapValid = false;
+    }
+
+    void draw(Canvas canvas, IndicatorView view) {
+        final int width = view.getWidth();
+        final int height = view.getHeight();
+        if (width <= 0 || height <= 0) return;
+
+        if (!canvas.isHardwareAccelerated()) {
+            drawBitmap(canvas, view, width, height);
+        } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            drawPicture(canvas, view, width, height);
+        } else {
+            view.onDrawStatic(canvas);
+        }
+    }
+
+    void release() {
+        if (mBitmap != null) mBitmap.recycle();
+        mBitmap = null;
+        mBitmapValid = false;
+    }
+
+    private void drawBitmap(Canvas canvas, IndicatorView view, int width, int height) {
+        if (mBitmap == null || mBitmap.getWidth() != width || mBitmap.getHeight() != height) {
+            release();
+            mBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            if (mBitmapCanvas == null) mBitmapCanvas = new Canvas();
+            mBitmapCanvas.setBitmap(mBitmap);
+        }
+
+        if (!mBitmapValid) {
+            mBitmap.eraseColor(0);
+            view.onDrawStatic(mBitmapCanvas);
+            mBitmapValid = true;
+        }
+
+        canvas.drawBitmap(mBitmap, 0, 0, null);
+    }
+
+    private void drawPicture(Canvas canvas, IndicatorView view, int width, int height) {
+        if (!mPictureValid || mPicture.getWidth() != width || mPicture.getHeight() != height) {
+            view.onDrawStatic(mPicture.beginRecording(width, height));
+            mPicture.endRecording();
+            mPictureValid = true;
+        }
+
+        canvas.drawPicture(mPicture);
+    }
+}
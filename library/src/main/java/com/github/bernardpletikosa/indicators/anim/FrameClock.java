@@ -0,0 +1,165 @@
+package com.github.bernardpletikosa.indicators.anim;
+
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.Choreographer;
+
+import java.util.Arrays;
+
+/**
+ * Library wide animation clock. All running indicator animations are stepped from one frame
+ * callback, driven by {@link android.view.Choreographer} on Jelly Bean and newer, and by a main
+ * thread {@link android.os.Handler} before that.
+ * <p>Callbacks are kept in a plain array which only grows, so starting and stepping animations
+ * doesn't allocate. Clock must be used from the main thread only.</p>
+ */
+public class FrameClock {
+
+    // Frame delay used before Choreographer was available, same as old ValueAnimator
+    private static final long FALLBACK_FRAME_DELAY = 10;
+
+    private static FrameClock sInstance;
+
+    /**
+     * Callback stepped on every frame while registered.
+     */
+    public interface Callback {
+
+        /**
+         * Called once per frame.
+         * @param frameTimeNanos monotonic frame start time in nanoseconds
+         * @return true to be called on next frame, false to unregister
+         */
+        boolean doFrame(long frameTimeNanos);
+    }
+
+    private final Ticker mTicker;
+    private Callback[] mCallbacks = new Callback[16];
+    private int mCount;
+    private boolean mScheduled;
+
+    private FrameClock() {
+        mTicker = Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN ?
+                new ChoreographerTicker(this) : new HandlerTicker(this);
+    }
+
+    // Clock with its own ticker, used by tests to step frames by hand
+    FrameClock(Ticker ticker) {
+        mTicker = ticker;
+    }
+
+    /**
+     * @return shared clock instance
+     */
+    public static FrameClock getInstance() {
+        if (sInstance == null) sInstance = new FrameClock();
+        return sInstance;
+    }
+
+    static void setInstance(FrameClock clock) {
+        sInstance = clock;
+    }
+
+    /**
+     * Registers callback to be stepped from next frame on. Registering already registered
+     * callback has no effect.
+     * @param callback frame callback
+     */
+    public void start(Callback callback) {
+        for (int i = 0; i < mCount; i++)
+            if (mCallbacks[i] == callback) return;
+
+        if (mCount == mCallbacks.length) mCallbacks = Arrays.copyOf(mCallbacks, mCount * 2);
+        mCallbacks[mCount++] = callback;
+
+        if (!mScheduled) {
+            mScheduled = true;
+            mTicker.schedule();
+        }
+    }
+
+    /**
+     * Unregisters callback before it finishes by itself.
+     * @param callback frame callback
+     */
+    public void stop(Callback callback) {
+        for (int i = 0; i < mCount; i++)
+            if (mCallbacks[i] == callback) mCallbacks[i] = null;
+    }
+
+    /**
+     * @return number of registered callbacks
+     */
+    public int getCallbackCount() {
+        return mCount;
+    }
+
+    void doFrame(long frameTimeNanos) {
+        mScheduled = false;
+
+        // Callbacks keep their slots during the pass, ones started meanwhile are appended
+        final int count = mCount;
+        for (int i = 0; i < count; i++) {
+            Callback callback = mCallbacks[i];
+            if (callback != null && !callback.doFrame(frameTimeNanos) && mCallbacks[i] == callback)
+                mCallbacks[i] = null;
+        }
+
+        int kept = 0;
+        for (int i = 0; i < mCount; i++)
+            if (mCallbacks[i] != null) mCallbacks[kept++] = mCallbacks[i];
+        Arrays.fill(mCallbacks, kept, mCount, null);
+        mCount = kept;
+
+        if (mCount > 0 && !mScheduled) {
+            mScheduled = true;
+            mTicker.schedule();
+        }
+    }
+
+    interface Ticker {
+        void schedule();
+    }
+
+    private static class ChoreographerTicker implements Ticker, Choreographer.FrameCallback {
+
+        private final FrameClock mClock;
+        private final Choreographer mChoreographer = Choreographer.getInstance();
+
+        ChoreographerTicker(FrameClock clock) {
+            mClock = clock;
+        }
+
+        @Override
+        public void schedule() {
+            mChoreographer.postFrameCallback(this);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            mClock.doFrame(frameTimeNanos);
+        }
+    }
+
+    private static class HandlerTicker implements Ticker, Runnable {
+
+        private final FrameClock mClock;
+        private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+        HandlerTicker(FrameClock clock) {
+            mClock = clock;
+        }
+
+        @Override
+        public void schedule() {
+            mHandler.postDelayed(this, FALLBACK_FRAME_DELAY);
+        }
+
+        @Override
+        public void run() {
+            mClock.doFrame(SystemClock.uptimeMillis() * 1000000L);
+        }
+    }
+}
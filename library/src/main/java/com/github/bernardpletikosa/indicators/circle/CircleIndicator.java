@@ -1,24 +1,23 @@
 package com.github.bernardpletikosa.indicators.circle;
 
-import android.animation.ValueAnimator;
 import android.content.Context;
-import android.content.res.TypedArray;
 import android.graphics.Canvas;
 import android.graphics.PointF;
 import android.util.AttributeSet;
 
+import com.github.bernardpletikosa.indicators.IndicatorPreset;
 import com.github.bernardpletikosa.indicators.IndicatorView;
-import com.github.bernardpletikosa.indicators.R;
 import com.github.bernardpletikosa.indicators.consts.SizeUnit;
+import com.github.bernardpletikosa.indicators.geometry.CircleGeometry;
 
 import static android.view.View.MeasureSpec.AT_MOST;
 import static android.view.View.MeasureSpec.EXACTLY;
-import static com.github.bernardpletikosa.indicators.consts.Defaults.NO_VALUE;
 
 public class CircleIndicator extends IndicatorView {
 
     protected float mRadius = 0;
     protected PointF mCenter = new PointF();
+    protected final CircleGeometry mGeometry = new CircleGeometry();
 
     public CircleIndicator(Context context) {
         this(context, null);
@@ -29,13 +28,20 @@ public class CircleIndicator extends IndicatorView {
     }
 
     public CircleIndicator(Context context, AttributeSet attrs, int defStyle) {
-        super(context, attrs);
+        this(context, attrs, defStyle, 0);
+    }
+
+    public CircleIndicator(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+        super(context, attrs, defStyleAttr, defStyleRes);
 
-        setXmlValues(context.getTheme().obtainStyledAttributes(attrs, R.styleable.CircleIndicator, 0, 0));
+        setXmlValues(getXmlPreset());
     }
 
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        if (setCachedMeasure(widthMeasureSpec, heightMeasureSpec)) return;
+
+        final long measureStart = beginMeasureSection();
         int width = MeasureSpec.getSize(widthMeasureSpec);
         int height = MeasureSpec.getSize(heightMeasureSpec);
 
@@ -48,18 +54,29 @@ public class CircleIndicator extends IndicatorView {
         if (mRadius <= 0)
             mRadius = mCenter.x < mCenter.y ? mCenter.x : mCenter.y;
 
+        mGeometry.setRadius(mRadius);
+
         setMeasuredDimension((int) (w == 0 ? h : w), (int) (h == 0 ? w : h));
 
         mTextPositionX = (int) mCenter.x;
-        mTextPositionY = (int) (mCenter.y - ((mTextPaint.descent() + mTextPaint.ascent()) / 2));
+        mTextPositionY = (int) (mCenter.y - ((mStyle.getTextPaint().descent() + mStyle.getTextPaint().ascent()) / 2));
+
+        invalidateStaticLayer();
+        cacheMeasure(widthMeasureSpec, heightMeasureSpec);
+        endMeasureSection(measureStart);
+    }
+
+    @Override
+    protected void onDrawStatic(Canvas canvas) {
+        canvas.drawCircle(mCenter.x, mCenter.y, mRadius, mStyle.getBackgroundPaint());
     }
 
     @Override
     protected void onDraw(Canvas canvas) {
-        canvas.drawCircle(mCenter.x, mCenter.y, mRadius, mBackgroundPaint);
-        canvas.drawCircle(mCenter.x, mCenter.y, mCurrentValue, mMainPaint);
+        drawStatic(canvas);
+        canvas.drawCircle(mCenter.x, mCenter.y, mCurrentValue, mStyle.getMainPaint());
 
-        drawText(canvas, mCurrentValue / mRadius * mValueRange);
+        drawText(canvas, mGeometry.valueAt(mCurrentValue, mValueRange));
     }
 
     /**
@@ -72,8 +89,9 @@ public class CircleIndicator extends IndicatorView {
         checkNegativeOrZero(radius, "circle radius");
 
         mRadius = unit == SizeUnit.PX ? radius : (int) dpToPixel(radius);
+        mGeometry.setRadius(mRadius);
 
-        requestLayout();
+        requestIndicatorLayout();
         draw();
     }
 
@@ -86,24 +104,20 @@ public class CircleIndicator extends IndicatorView {
     }
 
     @Override
-    protected ValueAnimator.AnimatorUpdateListener getUpdateListener() {
-        final float absoluteTarget = mTargetValue + Math.abs(mMinValue);
-
-        return new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                float maxAnimatedFraction = Math.max(animation.getAnimatedFraction(), 0.01f);
-                float shift = (absoluteTarget / mValueRange) * mRadius - mOldValue;
-
-                mCurrentValue = mOldValue + (shift * maxAnimatedFraction);
+    protected void invalidateValueChange(float oldValue, float newValue) {
+        float radius = Math.max(oldValue, newValue);
+        mDirtyRect.set(mCenter.x - radius, mCenter.y - radius, mCenter.x + radius, mCenter.y + radius);
+        invalidateDirty(mDirtyRect);
+    }
 
-                postInvalidate();
-            }
-        };
+    @Override
+    protected float calculateShift(float absoluteTarget) {
+        return mGeometry.positionOf(absoluteTarget, mValueRange) - mOldValue;
     }
 
-    private void setXmlValues(TypedArray array) {
-        mRadius = (int) array.getDimension(R.styleable.CircleIndicator_circle_radius, NO_VALUE);
+    private void setXmlValues(IndicatorPreset preset) {
+        mRadius = preset.getCircleRadius();
+        mGeometry.setRadius(mRadius);
     }
 
     private float calculateSize(int modeSpec, int... size) {
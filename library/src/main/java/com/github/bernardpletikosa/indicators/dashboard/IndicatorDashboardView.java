@@ -0,0 +1,410 @@
+package com.github.bernardpletikosa.indicators.dashboard;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.RectF;
+import android.util.AttributeSet;
+import android.view.View;
+import android.view.animation.Interpolator;
+
+import com.github.bernardpletikosa.indicators.IndicatorUtil;
+import com.github.bernardpletikosa.indicators.R;
+import com.github.bernardpletikosa.indicators.anim.FrameClock;
+import com.github.bernardpletikosa.indicators.anim.IndicatorAnimation;
+import com.github.bernardpletikosa.indicators.consts.AnimationMode;
+import com.github.bernardpletikosa.indicators.consts.SizeUnit;
+import com.github.bernardpletikosa.indicators.render.IndicatorRenderer;
+
+import java.util.ArrayList;
+
+import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_ANIM_DURATION;
+
+/**
+ * Single view showing many indicators. Every indicator is a lightweight model drawn by its
+ * {@link com.github.bernardpletikosa.indicators.render.IndicatorRenderer}, so a screen of
+ * indicators costs one measure, layout and draw pass, and all value changes are animated from
+ * one {@link com.github.bernardpletikosa.indicators.anim.FrameClock} callback.
+ * <p>Indicators are laid out in a grid, row by row, unless explicit bounds are set with
+ * {@link #setIndicatorBounds(int, android.graphics.RectF)}. Renderers can be shared between
+ * indicators with the same look.</p>
+ */
+public class IndicatorDashboardView extends View {
+
+    private static final int DEFAULT_COLUMNS = 4;
+    private static final int DEFAULT_CELL_SIZE_DP = 64;
+
+    private final ArrayList<Cell> mCells = new ArrayList<Cell>();
+    // Union of bounds of cells changed in current frame
+    private final RectF mDirty = new RectF();
+
+    private int mColumns = DEFAULT_COLUMNS;
+    private int mSpacing;
+    private int mAnimationDuration = DEFAULT_ANIM_DURATION;
+    private AnimationMode mAnimationMode = AnimationMode.RESTART;
+
+    private final IndicatorUtil.InterpolatorEasing mEasing = new IndicatorUtil.InterpolatorEasing();
+
+    private final FrameClock.Callback mFrameCallback = new FrameClock.Callback() {
+        @Override
+        public boolean doFrame(long frameTimeNanos) {
+            return stepAnimations(frameTimeNanos);
+        }
+    };
+
+    public IndicatorDashboardView(Context context) {
+        this(context, null);
+    }
+
+    public IndicatorDashboardView(Context context, AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public IndicatorDashboardView(Context context, AttributeSet attrs, int defStyle) {
+        super(context, attrs, defStyle);
+
+        TypedArray array = context.getTheme().obtainStyledAttributes(attrs,
+                R.styleable.IndicatorDashboardView, defStyle, 0);
+        try {
+            setColumns(array.getInt(R.styleable.IndicatorDashboardView_dashboard_columns, DEFAULT_COLUMNS));
+            mSpacing = array.getDimensionPixelSize(R.styleable.IndicatorDashboardView_dashboard_spacing, 0);
+            setAnimationDuration(array.getInt(R.styleable.IndicatorDashboardView_animation_duration,
+                    DEFAULT_ANIM_DURATION));
+            setAnimationMode(AnimationMode.values()[array.getInt(
+                    R.styleable.IndicatorDashboardView_animation_mode, 0)]);
+        } finally {
+            array.recycle();
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+
+        FrameClock.getInstance().stop(mFrameCallback);
+        for (int i = 0; i < mCells.size(); i++)
+            mCells.get(i).jumpToTarget();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        final int columns = getGridColumns();
+        final int rows = getGridRows(columns);
+        final int horizontalPadding = getPaddingLeft() + getPaddingRight();
+
+        int width;
+        if (MeasureSpec.getMode(widthMeasureSpec) == MeasureSpec.UNSPECIFIED) {
+            width = horizontalPadding + columns * (int) dpToPixel(DEFAULT_CELL_SIZE_DP)
+                    + (columns - 1) * mSpacing;
+        } else {
+            width = MeasureSpec.getSize(widthMeasureSpec);
+        }
+
+        // Grid cells are square unless height is given
+        final float cell = Math.max(0, (width - horizontalPadding - (columns - 1) * mSpacing) / (float) columns);
+        final int height = getPaddingTop() + getPaddingBottom() + (int) (rows * cell) + (rows - 1) * mSpacing;
+
+        setMeasuredDimension(width, resolveSize(height, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+
+        layoutCells();
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+
+        for (int i = 0; i < mCells.size(); i++) {
+            Cell cell = mCells.get(i);
+            if (cell.bounds.isEmpty() || canvas.quickReject(cell.bounds, Canvas.EdgeType.AA)) continue;
+            cell.renderer.render(canvas, cell.bounds, cell.value);
+        }
+    }
+
+    /**
+     * Adds indicator at the end of the dashboard, its value is renderer's minimum.
+     * @param renderer renderer drawing indicator, can be shared with other indicators
+     * @return index of added indicator
+     */
+    public int addIndicator(IndicatorRenderer renderer) throws IllegalArgumentException {
+        if (renderer == null)
+            throw new IllegalArgumentException("renderer can't be null.");
+
+        Cell cell = new Cell(renderer);
+        cell.animation.setMode(mAnimationMode);
+        mCells.add(cell);
+
+        requestLayout();
+        layoutCells();
+        invalidate();
+        return mCells.size() - 1;
+    }
+
+    /**
+     * Removes all indicators.
+     */
+    public void removeAllIndicators() {
+        FrameClock.getInstance().stop(mFrameCallback);
+        mCells.clear();
+
+        requestLayout();
+        invalidate();
+    }
+
+    /**
+     * @return number of indicators
+     */
+    public int getIndicatorCount() {
+        return mCells.size();
+    }
+
+    /**
+     * @param index indicator index
+     * @return renderer drawing indicator at given index
+     */
+    public IndicatorRenderer getRenderer(int index) {
+        return getCell(index).renderer;
+    }
+
+    /**
+     * Sets indicator position instead of its grid cell.
+     * @param index  indicator index
+     * @param bounds bounds in view coordinates, null to return indicator to grid
+     */
+    public void setIndicatorBounds(int index, RectF bounds) {
+        Cell cell = getCell(index);
+        cell.explicit = bounds != null;
+        if (bounds != null) cell.bounds.set(bounds);
+
+        layoutCells();
+        invalidate();
+    }
+
+    /**
+     * Sets value of one indicator, change is animated.
+     * @param index indicator index
+     * @param value target value
+     */
+    public void setValue(int index, float value) {
+        if (startAnimation(getCell(index), value)) FrameClock.getInstance().start(mFrameCallback);
+    }
+
+    /**
+     * Sets values of first values.length indicators in one go, changes are animated.
+     * @param values target values by indicator index
+     */
+    public void setValues(float[] values) throws IllegalArgumentException {
+        if (values == null)
+            throw new IllegalArgumentException("values can't be null.");
+        if (values.length > mCells.size())
+            throw new IllegalArgumentException("More values than indicators.");
+
+        boolean animating = false;
+        for (int i = 0; i < values.length; i++)
+            animating |= startAnimation(mCells.get(i), values[i]);
+
+        if (animating) FrameClock.getInstance().start(mFrameCallback);
+    }
+
+    /**
+     * @param index indicator index
+     * @return currently shown value of indicator
+     */
+    public float getValue(int index) {
+        return getCell(index).value;
+    }
+
+    /**
+     * @param index indicator index
+     * @return target value of indicator
+     */
+    public float getTargetValue(int index) {
+        return getCell(index).target;
+    }
+
+    /**
+     * Sets number of grid columns, default is 4.
+     * XML parameter {@link com.github.bernardpletikosa.indicators.R.attr#dashboard_columns}
+     * @param columns number of columns, greater than 0
+     */
+    public void setColumns(int columns) throws IllegalArgumentException {
+        if (columns <= 0)
+            throw new IllegalArgumentException("Argument columns can't be less than 1.");
+
+        mColumns = columns;
+        requestLayout();
+        layoutCells();
+        invalidate();
+    }
+
+    /**
+     * Sets space between grid cells, default is 0.
+     * XML parameter {@link com.github.bernardpletikosa.indicators.R.attr#dashboard_spacing}
+     * @param unit    {@link com.github.bernardpletikosa.indicators.consts.SizeUnit}
+     * @param spacing spacing in specified unit
+     */
+    public void setSpacing(SizeUnit unit, int spacing) throws IllegalArgumentException {
+        if (unit == null)
+            throw new IllegalArgumentException("SizeUnit can't be null.");
+        if (spacing < 0)
+            throw new IllegalArgumentException("Argument spacing can't be less than 0.");
+
+        mSpacing = unit == SizeUnit.DP ? (int) dpToPixel(spacing) : spacing;
+        requestLayout();
+        layoutCells();
+        invalidate();
+    }
+
+    /**
+     * XML parameter {@link com.github.bernardpletikosa.indicators.R.attr#animation_duration}
+     * @param duration animation duration in milliseconds, 0 for no animation
+     */
+    public void setAnimationDuration(int duration) throws IllegalArgumentException {
+        if (duration < 0)
+            throw new IllegalArgumentException("Argument animation duration can't be less than 0.");
+        mAnimationDuration = duration;
+    }
+
+    /**
+     * XML parameter {@link com.github.bernardpletikosa.indicators.R.attr#animation_mode}
+     * @param mode how new values affect animations in progress, see {@link AnimationMode}
+     */
+    public void setAnimationMode(AnimationMode mode) throws IllegalArgumentException {
+        if (mode == null)
+            throw new IllegalArgumentException("animation mode can't be null.");
+
+        mAnimationMode = mode;
+        for (int i = 0; i < mCells.size(); i++)
+            mCells.get(i).animation.setMode(mode);
+    }
+
+    /**
+     * @param interpolator interpolator used in {@link AnimationMode#RESTART} mode
+     */
+    public void setInterpolator(Interpolator interpolator) throws IllegalArgumentException {
+        if (interpolator == null)
+            throw new IllegalArgumentException("interpolator can't be null.");
+        mEasing.setInterpolator(interpolator);
+    }
+
+    public int getColumns() {
+        return mColumns;
+    }
+
+    public int getSpacing() {
+        return mSpacing;
+    }
+
+    public int getAnimationDuration() {
+        return mAnimationDuration;
+    }
+
+    public AnimationMode getAnimationMode() {
+        return mAnimationMode;
+    }
+
+    /**
+     * @return true if any indicator is animating, false otherwise
+     */
+    public boolean isAnimating() {
+        for (int i = 0; i < mCells.size(); i++)
+            if (mCells.get(i).animation.isRunning()) return true;
+        return false;
+    }
+
+    private boolean startAnimation(Cell cell, float value) {
+        cell.target = value;
+
+        if (mAnimationDuration == 0 && mAnimationMode != AnimationMode.SPRING) {
+            cell.jumpToTarget();
+            invalidate();
+            return false;
+        }
+
+        IndicatorRenderer renderer = cell.renderer;
+        cell.animation.setRestThreshold(IndicatorUtil.restThreshold(renderer.getMinValue(), renderer.getMaxValue()));
+        cell.animation.start(cell.value, mAnimationDuration, mEasing);
+        return true;
+    }
+
+    private boolean stepAnimations(long frameTimeNanos) {
+        boolean running = false;
+        mDirty.setEmpty();
+
+        for (int i = 0; i < mCells.size(); i++) {
+            Cell cell = mCells.get(i);
+            if (!cell.animation.isRunning()) continue;
+
+            running |= cell.animation.step(frameTimeNanos, cell.target);
+            if (cell.value != cell.animation.getValue()) mDirty.union(cell.bounds);
+            cell.value = cell.animation.getValue();
+        }
+
+        // Only animating cells are redrawn, rounded outwards to cover anti aliased edges
+        if (!mDirty.isEmpty())
+            invalidate((int) Math.floor(mDirty.left), (int) Math.floor(mDirty.top),
+                    (int) Math.ceil(mDirty.right), (int) Math.ceil(mDirty.bottom));
+        return running;
+    }
+
+    private void layoutCells() {
+        final int columns = getGridColumns();
+        final int rows = getGridRows(columns);
+        final float left = getPaddingLeft();
+        final float top = getPaddingTop();
+        final float cellWidth = (getWidth() - left - getPaddingRight() - (columns - 1) * mSpacing) / columns;
+        final float cellHeight = (getHeight() - top - getPaddingBottom() - (rows - 1) * mSpacing) / rows;
+
+        for (int i = 0; i < mCells.size(); i++) {
+            Cell cell = mCells.get(i);
+            if (cell.explicit) continue;
+
+            float x = left + (i % columns) * (cellWidth + mSpacing);
+            float y = top + (i / columns) * (cellHeight + mSpacing);
+            cell.bounds.set(x, y, x + Math.max(0, cellWidth), y + Math.max(0, cellHeight));
+        }
+    }
+
+    private int getGridColumns() {
+        return Math.max(1, Math.min(mColumns, mCells.size()));
+    }
+
+    private int getGridRows(int columns) {
+        return Math.max(1, (mCells.size() + columns - 1) / columns);
+    }
+
+    private Cell getCell(int index) throws IllegalArgumentException {
+        if (index < 0 || index >= mCells.size())
+            throw new IllegalArgumentException("Indicator index " + index + " out of bounds.");
+        return mCells.get(index);
+    }
+
+    private float dpToPixel(float dp) {
+        return IndicatorUtil.dpToPixel(getResources(), dp);
+    }
+
+    private static final class Cell {
+
+        final IndicatorRenderer renderer;
+        final IndicatorAnimation animation = new IndicatorAnimation();
+        final RectF bounds = new RectF();
+        boolean explicit;
+        float value;
+        float target;
+
+        Cell(IndicatorRenderer renderer) {
+            this.renderer = renderer;
+            value = renderer.getMinValue();
+            target = value;
+        }
+
+        void jumpToTarget() {
+            animation.cancel();
+            value = target;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.github.bernardpletikosa.indicators.drawable;
+
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+import android.view.animation.Interpolator;
+
+import com.github.bernardpletikosa.indicators.IndicatorUtil;
+import com.github.bernardpletikosa.indicators.anim.FrameClock;
+import com.github.bernardpletikosa.indicators.anim.IndicatorAnimation;
+import com.github.bernardpletikosa.indicators.consts.AnimationMode;
+import com.github.bernardpletikosa.indicators.render.IndicatorRenderer;
+
+import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_ANIM_DURATION;
+
+/**
+ * Lightweight indicator usable wherever a {@link android.graphics.drawable.Drawable} is, in
+ * {@link android.widget.ImageView}, as compound drawable or as background. Shape and look come
+ * from {@link com.github.bernardpletikosa.indicators.render.IndicatorRenderer}, for example
+ * {@code new IndicatorDrawable(new PieRenderer())}, and one renderer can be shared by any number
+ * of drawables, like all rows of a list.
+ * <p>Value is set with {@link #setValue(float)} or through {@link #setLevel(int)}, where level
+ * [0, 10000] maps to renderer's value range. Changes are animated on the shared
+ * {@link com.github.bernardpletikosa.indicators.anim.FrameClock}. Use from the main thread only.
+ * Renderer changes are not tracked, call {@link #invalidateSelf()} after changing it.</p>
+ */
+public class IndicatorDrawable extends Drawable implements FrameClock.Callback {
+
+    private static final int MAX_LEVEL = 10000;
+
+    private final IndicatorRenderer mRenderer;
+    private final IndicatorAnimation mAnimation = new IndicatorAnimation();
+    private final RectF mBounds = new RectF();
+    private final IndicatorUtil.InterpolatorEasing mEasing = new IndicatorUtil.InterpolatorEasing();
+
+    private ColorFilter mColorFilter;
+    private int mAnimationDuration = DEFAULT_ANIM_DURATION;
+    private float mValue;
+    private float mTargetValue;
+    private int mAlpha = 255;
+    private int mIntrinsicWidth = -1;
+    private int mIntrinsicHeight = -1;
+
+    public IndicatorDrawable(IndicatorRenderer renderer) throws IllegalArgumentException {
+        if (renderer == null)
+            throw new IllegalArgumentException("renderer can't be null.");
+
+        mRenderer = renderer;
+        mValue = renderer.getMinValue();
+        mTargetValue = mValue;
+    }
+
+    /**
+     * Sets value to indicate, change is animated.
+     * @param value target value
+     */
+    public void setValue(float value) {
+        setValue(value, true);
+    }
+
+    /**
+     * Sets value to indicate.
+     * @param value   target value
+     * @param animate true to animate change, false to show value right away
+     */
+    public void setValue(float value, boolean animate) {
+        mTargetValue = value;
+
+        if (!animate || mAnimationDuration == 0 && mAnimation.getMode() != AnimationMode.SPRING) {
+            jumpToTarget();
+            return;
+        }
+
+        mAnimation.setRestThreshold(IndicatorUtil.restThreshold(mRenderer.getMinValue(), mRenderer.getMaxValue()));
+        mAnimation.start(mValue, mAnimationDuration, mEasing);
+        FrameClock.getInstance().start(this);
+    }
+
+    @Override
+    public boolean doFrame(long frameTimeNanos) {
+        boolean running = mAnimation.step(frameTimeNanos, mTargetValue);
+        mValue = mAnimation.getValue();
+        invalidateSelf();
+        return running;
+    }
+
+    @Override
+    protected boolean onLevelChange(int level) {
+        final float min = mRenderer.getMinValue();
+        setValue(min + (mRenderer.getMaxValue() - min) * level / MAX_LEVEL);
+        return true;
+    }
+
+    @Override
+    public boolean setVisible(boolean visible, boolean restart) {
+        boolean changed = super.setVisible(visible, restart);
+        // Hidden drawable doesn't need frames, it is shown at target when visible again
+        if (!visible && mAnimation.isRunning()) jumpToTarget();
+        return changed;
+    }
+
+    private void jumpToTarget() {
+        mAnimation.cancel();
+        FrameClock.getInstance().stop(this);
+        mValue = mTargetValue;
+        invalidateSelf();
+    }
+
+    @Override
+    public void draw(Canvas canvas) {
+        if (mAlpha == 0 || mBounds.isEmpty()) return;
+
+        if (mAlpha == 255) {
+            mRenderer.render(canvas, mBounds, mValue, mColorFilter);
+            return;
+        }
+
+        int count = canvas.saveLayerAlpha(mBounds, mAlpha, Canvas.ALL_SAVE_FLAG);
+        mRenderer.render(canvas, mBounds, mValue, mColorFilter);
+        canvas.restoreToCount(count);
+    }
+
+    @Override
+    protected void onBoundsChange(Rect bounds) {
+        mBounds.set(bounds);
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        mAlpha = alpha;
+        invalidateSelf();
+    }
+
+    @Override
+    public int getAlpha() {
+        return mAlpha;
+    }
+
+    /**
+     * Filter is applied to renderer's colors only when drawing this drawable, other drawables
+     * sharing the renderer are not affected.
+     */
+    @Override
+    public void setColorFilter(ColorFilter colorFilter) {
+        mColorFilter = colorFilter;
+        invalidateSelf();
+    }
+
+    @Override
+    public ColorFilter getColorFilter() {
+        return mColorFilter;
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+    /**
+     * Sets size reported to views, needed for compound drawables. Default is -1, drawable
+     * fills bounds it gets.
+     * @param width  width in pixels
+     * @param height height in pixels
+     */
+    public void setIntrinsicSize(int width, int height) {
+        mIntrinsicWidth = width;
+        mIntrinsicHeight = height;
+    }
+
+    @Override
+    public int getIntrinsicWidth() {
+        return mIntrinsicWidth;
+    }
+
+    @Override
+    public int getIntrinsicHeight() {
+        return mIntrinsicHeight;
+    }
+
+    /**
+     * @param duration animation duration in milliseconds, 0 for no animation
+     */
+    public void setAnimationDuration(int duration) throws IllegalArgumentException {
+        if (duration < 0)
+            throw new IllegalArgumentException("Argument animation duration can't be less than 0.");
+        mAnimationDuration = duration;
+    }
+
+    /**
+     * @param mode how new values affect animation in progress, see {@link AnimationMode}
+     */
+    public void setAnimationMode(AnimationMode mode) throws IllegalArgumentException {
+        if (mode == null)
+            throw new IllegalArgumentException("animation mode can't be null.");
+        mAnimation.setMode(mode);
+    }
+
+    /**
+     * @param interpolator interpolator used in {@link AnimationMode#RESTART} mode
+     */
+    public void setInterpolator(Interpolator interpolator) throws IllegalArgumentException {
+        if (interpolator == null)
+            throw new IllegalArgumentException("interpolator can't be null.");
+        mEasing.setInterpolator(interpolator);
+    }
+
+    /**
+     * @return renderer drawing this indicator
+     */
+    public IndicatorRenderer getRenderer() {
+        return mRenderer;
+    }
+
+    /**
+     * @return currently shown value
+     */
+    public float getValue() {
+        return mValue;
+    }
+
+    /**
+     * @return target value
+     */
+    public float getTargetValue() {
+        return mTargetValue;
+    }
+
+    /**
+     * @return true if value change is animating, false otherwise
+     */
+    public boolean isAnimating() {
+        return mAnimation.isRunning();
+    }
+}
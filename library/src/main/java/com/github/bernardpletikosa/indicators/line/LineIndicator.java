@@ -1,15 +1,15 @@
 package com.github.bernardpletikosa.indicators.line;
 
-import android.animation.ValueAnimator;
 import android.content.Context;
-import android.content.res.TypedArray;
 import android.graphics.Canvas;
+import android.graphics.RectF;
 import android.util.AttributeSet;
 
+import com.github.bernardpletikosa.indicators.IndicatorPreset;
 import com.github.bernardpletikosa.indicators.IndicatorView;
-import com.github.bernardpletikosa.indicators.R;
 import com.github.bernardpletikosa.indicators.consts.Direction;
 import com.github.bernardpletikosa.indicators.consts.SizeUnit;
+import com.github.bernardpletikosa.indicators.geometry.LineGeometry;
 
 import static com.github.bernardpletikosa.indicators.consts.Defaults.NO_VALUE;
 
@@ -20,8 +20,11 @@ public class LineIndicator extends IndicatorView {
     protected int mTotalWidth;
     protected int mTotalHeight;
     protected Direction mDirection;
+    protected final LineGeometry mGeometry = new LineGeometry();
     private int mEmptyWidth;
     private int mEmptyHeight;
+    private final RectF mIndicationRect = new RectF();
+    private final RectF mPeakRect = new RectF();
 
     public LineIndicator(Context context) {
         this(context, null);
@@ -32,13 +35,20 @@ public class LineIndicator extends IndicatorView {
     }
 
     public LineIndicator(Context context, AttributeSet attrs, int defStyle) {
-        super(context, attrs);
+        this(context, attrs, defStyle, 0);
+    }
+
+    public LineIndicator(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+        super(context, attrs, defStyleAttr, defStyleRes);
 
-        setXmlValues(context.getTheme().obtainStyledAttributes(attrs, R.styleable.LineIndicator, 0, 0));
+        setXmlValues(getXmlPreset());
     }
 
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        if (setCachedMeasure(widthMeasureSpec, heightMeasureSpec)) return;
+
+        final long measureStart = beginMeasureSection();
         mTotalWidth = MeasureSpec.getSize(widthMeasureSpec);
         mTotalHeight = MeasureSpec.getSize(heightMeasureSpec);
         int widthMode = MeasureSpec.getMode(widthMeasureSpec);
@@ -67,13 +77,18 @@ public class LineIndicator extends IndicatorView {
 
         if (mWidth <= 0) mWidth = w;
         if (mHeight <= 0) mHeight = h;
+        mGeometry.set(mWidth, mHeight, mDirection);
 
         setMeasuredDimension(w, h);
         setEmptyMeasures();
 
         mTextPositionX = (mWidth + 2 * mEmptyWidth) / 2;
         mTextPositionY = (int) ((mHeight + 2 * mEmptyHeight) / 2 -
-                ((mTextPaint.descent() + mTextPaint.ascent()) / 2));
+                ((mStyle.getTextPaint().descent() + mStyle.getTextPaint().ascent()) / 2));
+
+        invalidateStaticLayer();
+        cacheMeasure(widthMeasureSpec, heightMeasureSpec);
+        endMeasureSection(measureStart);
     }
 
     private void setEmptyMeasures() {
@@ -81,13 +96,19 @@ public class LineIndicator extends IndicatorView {
         mEmptyHeight = mTotalHeight > 0 ? (mTotalHeight - mHeight) / 2 : 0;
     }
 
+    @Override
+    protected void onDrawStatic(Canvas canvas) {
+        canvas.drawRect(mEmptyWidth, mEmptyHeight, mWidth + mEmptyWidth, mHeight + mEmptyHeight, mStyle.getBackgroundPaint());
+    }
+
     @Override
     protected void onDraw(Canvas canvas) {
-        final float[] positions = calculatePositions(mEmptyWidth, mEmptyHeight);
-        canvas.drawRect(mEmptyWidth, mEmptyHeight, mWidth + mEmptyWidth, mHeight + mEmptyHeight, mBackgroundPaint);
-        canvas.drawRect(positions[0], positions[1], positions[2], positions[3], mMainPaint);
+        calculatePositions(mEmptyWidth, mEmptyHeight);
+        drawStatic(canvas);
+        canvas.drawRect(mIndicationRect, mStyle.getMainPaint());
+        if (hasPeak()) drawPeak(canvas);
 
-        drawText(canvas, calculateText());
+        drawText(canvas, mGeometry.valueAt(mCurrentValue, mValueRange));
     }
 
     /**
@@ -108,8 +129,8 @@ public class LineIndicator extends IndicatorView {
             throw new IllegalArgumentException("Direction " + direction.name() + " not supported.");
 
         mDirection = direction;
+        mGeometry.set(mWidth, mHeight, mDirection);
 
-        requestLayout();
         draw();
     }
 
@@ -127,8 +148,9 @@ public class LineIndicator extends IndicatorView {
 
         mWidth = unit == SizeUnit.PX ? width : (int) dpToPixel(width);
         mHeight = unit == SizeUnit.PX ? height : (int) dpToPixel(height);
+        mGeometry.set(mWidth, mHeight, mDirection);
 
-        requestLayout();
+        requestIndicatorLayout();
         draw();
     }
 
@@ -159,69 +181,79 @@ public class LineIndicator extends IndicatorView {
         return mDirection;
     }
 
+    //Only strip between old and new end of the line changes
+    @Override
+    protected void invalidateValueChange(float oldValue, float newValue) {
+        final float from = Math.min(oldValue, newValue);
+        final float to = Math.max(oldValue, newValue);
+
+        if (mDirection == Direction.LEFT_RIGHT || mDirection == Direction.RIGHT_LEFT)
+            mDirtyRect.set(mEmptyWidth + from, mEmptyHeight, mEmptyWidth + to, mEmptyHeight + mHeight);
+        else
+            mDirtyRect.set(mEmptyWidth, mEmptyHeight + from, mEmptyWidth + mWidth, mEmptyHeight + to);
+
+        invalidateDirty(mDirtyRect);
+    }
+
+    //Only strip covering old and new marker changes
     @Override
-    protected ValueAnimator.AnimatorUpdateListener getUpdateListener() {
-        final float absoluteTarget = mTargetValue + Math.abs(mMinValue);
+    protected void invalidatePeakChange(float oldPeak, float newPeak) {
+        final float first = mGeometry.positionOf(oldPeak, mValueRange);
+        final float second = mGeometry.positionOf(newPeak, mValueRange);
+        final float half = mPeakMarkerWidth / 2;
 
-        return new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                float maxAnimatedFraction = Math.max(animation.getAnimatedFraction(), 0.01f);
-                float shift = calculateShift(absoluteTarget, mValueRange);
+        invalidateValueChange(Math.min(first, second) - half, Math.max(first, second) + half);
+    }
 
-                mCurrentValue = mOldValue + (shift * maxAnimatedFraction);
-                postInvalidate();
-            }
-        };
+    @Override
+    protected float getIndicatedValue() {
+        return mGeometry.valueAt(mCurrentValue, mValueRange);
     }
 
-    private void setXmlValues(TypedArray array) {
-        mWidth = (int) array.getDimension(R.styleable.LineIndicator_line_width, NO_VALUE);
-        mHeight = (int) array.getDimension(R.styleable.LineIndicator_line_height, NO_VALUE);
-        mDirection = Direction.values()[array.getInt(R.styleable.LineIndicator_line_direction, 2)];
+    private void setXmlValues(IndicatorPreset preset) {
+        mWidth = preset.getLineWidth();
+        mHeight = preset.getLineHeight();
+        mDirection = preset.getLineDirection();
+        mGeometry.set(mWidth, mHeight, mDirection);
+        setPeakHold(preset.isPeakHold());
     }
 
     //Calculates shift depending on direction
-    private float calculateShift(float absoluteTarget, float absoluteRange) {
-        switch (mDirection) {
-            case LEFT_RIGHT:
-                return (absoluteTarget / absoluteRange) * mWidth - mOldValue;
-            case RIGHT_LEFT:
-                return ((absoluteRange - absoluteTarget) / absoluteRange) * mWidth - mOldValue;
-            case TOP_BOTTOM:
-                return (absoluteTarget / absoluteRange) * mHeight - mOldValue;
-            case BOTTOM_TOP:
-                return ((absoluteRange - absoluteTarget) / absoluteRange) * mHeight - mOldValue;
-        }
-        return 0;
+    @Override
+    protected float calculateShift(float absoluteTarget) {
+        return mGeometry.positionOf(absoluteTarget, mValueRange) - mOldValue;
     }
 
-    //Calculates rectangle corners position
-    private float[] calculatePositions(int emptyWidth, int emptyHeight) {
-        switch (mDirection) {
-            case LEFT_RIGHT:
-                return new float[]{emptyWidth, emptyHeight, mCurrentValue + emptyWidth, mHeight + emptyHeight};
-            case RIGHT_LEFT:
-                return new float[]{mCurrentValue + emptyWidth, emptyHeight, mWidth + emptyWidth, mHeight + emptyHeight};
-            case TOP_BOTTOM:
-                return new float[]{emptyWidth, emptyHeight, mWidth + emptyWidth, mCurrentValue + emptyHeight};
-            case BOTTOM_TOP:
-            default:
-                return new float[]{emptyWidth, mCurrentValue + emptyHeight, mWidth + emptyWidth, mHeight + emptyHeight};
-        }
+    //Marker across the line at peak position, kept inside the line
+    private void drawPeak(Canvas canvas) {
+        final float position = mGeometry.positionOf(getPeak(), mValueRange);
+        final float half = mPeakMarkerWidth / 2;
+
+        if (mDirection == Direction.LEFT_RIGHT || mDirection == Direction.RIGHT_LEFT)
+            mPeakRect.set(Math.max(position - half, 0) + mEmptyWidth, mEmptyHeight,
+                    Math.min(position + half, mWidth) + mEmptyWidth, mHeight + mEmptyHeight);
+        else
+            mPeakRect.set(mEmptyWidth, Math.max(position - half, 0) + mEmptyHeight,
+                    mWidth + mEmptyWidth, Math.min(position + half, mHeight) + mEmptyHeight);
+
+        canvas.drawRect(mPeakRect, mStyle.getMainPaint());
     }
 
-    private float calculateText() {
+    //Calculates rectangle corners position
+    private void calculatePositions(int emptyWidth, int emptyHeight) {
         switch (mDirection) {
             case LEFT_RIGHT:
-                return mCurrentValue / mWidth * mValueRange;
+                mIndicationRect.set(emptyWidth, emptyHeight, mCurrentValue + emptyWidth, mHeight + emptyHeight);
+                return;
             case RIGHT_LEFT:
-                return (1 - mCurrentValue / mWidth) * mValueRange;
+                mIndicationRect.set(mCurrentValue + emptyWidth, emptyHeight, mWidth + emptyWidth, mHeight + emptyHeight);
+                return;
             case TOP_BOTTOM:
-                return mCurrentValue / mHeight * mValueRange;
+                mIndicationRect.set(emptyWidth, emptyHeight, mWidth + emptyWidth, mCurrentValue + emptyHeight);
+                return;
             case BOTTOM_TOP:
             default:
-                return (1 - mCurrentValue / mHeight) * mValueRange;
+                mIndicationRect.set(emptyWidth, mCurrentValue + emptyHeight, mWidth + emptyWidth, mHeight + emptyHeight);
         }
     }
 }
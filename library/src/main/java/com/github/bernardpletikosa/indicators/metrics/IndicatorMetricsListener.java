@@ -0,0 +1,18 @@
+package com.github.bernardpletikosa.indicators.metrics;
+
+import com.github.bernardpletikosa.indicators.IndicatorView;
+
+/**
+ * Receives indicator metrics whenever an animation is recorded, see
+ * {@link IndicatorView#setMetricsListener(IndicatorMetricsListener)}.
+ */
+public interface IndicatorMetricsListener {
+
+    /**
+     * Called on the main thread after animation ended, was cancelled or restarted. Metrics
+     * instance is live, take {@link IndicatorMetrics#snapshot()} to keep values.
+     * @param indicator indicator which recorded metrics
+     * @param metrics   indicator metrics
+     */
+    void onAnimationRecorded(IndicatorView indicator, IndicatorMetrics metrics);
+}
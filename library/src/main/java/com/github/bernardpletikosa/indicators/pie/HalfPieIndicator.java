@@ -1,6 +1,5 @@
 package com.github.bernardpletikosa.indicators.pie;
 
-import android.animation.ValueAnimator;
 import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Paint;
@@ -8,8 +7,6 @@ import android.graphics.PointF;
 import android.graphics.RectF;
 import android.util.AttributeSet;
 
-import com.github.bernardpletikosa.indicators.R;
-import com.github.bernardpletikosa.indicators.consts.Defaults;
 import com.github.bernardpletikosa.indicators.consts.Orientation;
 
 import static android.view.View.MeasureSpec.AT_MOST;
@@ -33,6 +30,7 @@ public class HalfPieIndicator extends PieIndicator {
     protected RectF mBackRect = new RectF();
     protected RectF mHelpRect = new RectF();
     protected Orientation mOrientation;
+    protected final PointF mCorrectedCenter = new PointF();
 
     public HalfPieIndicator(Context context) {
         this(context, null);
@@ -43,17 +41,21 @@ public class HalfPieIndicator extends PieIndicator {
     }
 
     public HalfPieIndicator(Context context, AttributeSet attrs, int defStyle) {
-        super(context, attrs, defStyle);
+        this(context, attrs, defStyle, 0);
+    }
 
-        loadXmlValues(context.getTheme().obtainStyledAttributes(attrs, R.styleable.PieIndicator, 0, 0));
-        mOrientation = Orientation.values()[context.getTheme().obtainStyledAttributes(attrs, R.styleable.HalfPieIndicator, 0, 0)
-                .getInt(R.styleable.HalfPieIndicator_half_pie_orientation, 4)];
+    public HalfPieIndicator(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+        super(context, attrs, defStyleAttr, defStyleRes);
 
-        setLayerType(LAYER_TYPE_SOFTWARE, null);
+        mGeometry.setMaxAngle(HALF_PIE_MAX_ANGLE);
+        mOrientation = getXmlPreset().getHalfPieOrientation();
     }
 
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        if (setCachedMeasure(widthMeasureSpec, heightMeasureSpec)) return;
+
+        final long measureStart = beginMeasureSection();
         int height = MeasureSpec.getSize(heightMeasureSpec);
         int width = MeasureSpec.getSize(widthMeasureSpec);
 
@@ -75,34 +77,45 @@ public class HalfPieIndicator extends PieIndicator {
 
         mTextPositionX = calculateTextX();
         mTextPositionY = calculateTextY();
+
+        invalidateStaticLayer();
+        invalidateRing();
+        cacheMeasure(widthMeasureSpec, heightMeasureSpec);
+        endMeasureSection(measureStart);
+    }
+
+    @Override
+    protected void onDrawStatic(Canvas canvas) {
+        canvas.drawArc(mBackRect, mStartPos, mEndPos, true, mStyle.getBackgroundPaint());
     }
 
     @Override
     protected void onDraw(Canvas canvas) {
-        float value = mDirection == CLOCKWISE ? mCurrentValue : -mCurrentValue;
+        float value = mGeometry.sweepOf(mCurrentValue);
+
+        if (mRing) {
+            drawRing(canvas, mStartPos, value, mEndPos);
+            if (hasPeak()) drawPeak(canvas);
+            drawText(canvas, mGeometry.valueAt(mCurrentValue, mValueRange));
+            return;
+        }
 
-        canvas.drawArc(mBackRect, mStartPos, mEndPos, true, mBackgroundPaint);
-        canvas.drawArc(mMainRect, mStartPos, value, true, mMainPaint);
-        canvas.drawArc(mHelpRect, mStartPos, mEndPos, true, mCenterPaint);
+        drawStatic(canvas);
+        canvas.drawArc(mMainRect, mStartPos, value, true, mStyle.getMainPaint());
+        canvas.drawArc(mHelpRect, mStartPos, mEndPos, true, mStyle.getCenterPaint());
+        if (hasPeak()) drawPeak(canvas);
 
-        drawText(canvas, mCurrentValue / Defaults.HALF_PIE_MAX_ANGLE * mValueRange);
+        drawText(canvas, mGeometry.valueAt(mCurrentValue, mValueRange));
     }
 
     @Override
-    protected ValueAnimator.AnimatorUpdateListener getUpdateListener() {
-        final float absoluteTarget = mTargetValue + Math.abs(mMinValue);
-
-        return new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                float maxAnimatedFraction = Math.max(animation.getAnimatedFraction(), 0.01f);
-                int shift = (int) ((absoluteTarget / mValueRange) * HALF_PIE_MAX_ANGLE - mOldValue);
-
-                mCurrentValue = mOldValue + (shift * maxAnimatedFraction);
+    protected float calculateShift(float absoluteTarget) {
+        return (int) (mGeometry.positionOf(absoluteTarget, mValueRange) - mOldValue);
+    }
 
-                postInvalidate();
-            }
-        };
+    @Override
+    protected float getArcStart() {
+        return mStartPos;
     }
 
     /**
@@ -121,12 +134,17 @@ public class HalfPieIndicator extends PieIndicator {
         checkArgument(orientation, "orientation");
 
         mOrientation = orientation;
-        calculateCenter();
-        setHelperRects();
-        requestLayout();
+
+        requestIndicatorLayout();
         draw();
     }
 
+    @Override
+    protected void onShapeChanged() {
+        setHelperRects();
+        super.onShapeChanged();
+    }
+
     /**
      * Parent method which is not used in {@link HalfPieIndicator}.
      * Use {@link #setOrientation(com.github.bernardpletikosa.indicators.consts.Orientation)} instead.
@@ -197,20 +215,21 @@ public class HalfPieIndicator extends PieIndicator {
         float y = mOrientation == NORTH ? mCenter.y + DEFAULT_CORRECTION : mOrientation == SOUTH ?
                 mCenter.y - DEFAULT_CORRECTION : mCenter.y;
 
-        return new PointF(x, y);
+        mCorrectedCenter.set(x, y);
+        return mCorrectedCenter;
     }
 
     private int calculateTextX() {
         switch (mOrientation) {
             case EAST:
-                mTextPaint.setTextAlign(Paint.Align.LEFT);
+                mTextAlign = Paint.Align.LEFT;
                 return (int) mCenter.x;
             case WEST:
-                mTextPaint.setTextAlign(Paint.Align.RIGHT);
+                mTextAlign = Paint.Align.RIGHT;
                 return (int) mCenter.x;
             case NORTH:
             case SOUTH:
-                mTextPaint.setTextAlign(Paint.Align.CENTER);
+                mTextAlign = Paint.Align.CENTER;
             default:
                 return (int) mCenter.x;
         }
@@ -221,7 +240,7 @@ public class HalfPieIndicator extends PieIndicator {
             case NORTH:
                 return (int) mCenter.y;
             case SOUTH:
-                return (int) (mCenter.y + mTextPaint.getTextSize());
+                return (int) (mCenter.y + mStyle.getTextSize());
             default:
                 return (int) mCenter.y;
         }
@@ -1,19 +1,21 @@
 package com.github.bernardpletikosa.indicators.pie;
 
-import android.animation.ValueAnimator;
 import android.content.Context;
-import android.content.res.TypedArray;
 import android.graphics.Canvas;
 import android.graphics.Paint;
+import android.graphics.Path;
 import android.graphics.PointF;
 import android.graphics.RectF;
 import android.util.AttributeSet;
 
+import com.github.bernardpletikosa.indicators.IndicatorPreset;
+import com.github.bernardpletikosa.indicators.IndicatorStyle;
 import com.github.bernardpletikosa.indicators.IndicatorView;
-import com.github.bernardpletikosa.indicators.R;
 import com.github.bernardpletikosa.indicators.consts.Defaults;
 import com.github.bernardpletikosa.indicators.consts.Direction;
 import com.github.bernardpletikosa.indicators.consts.SizeUnit;
+import com.github.bernardpletikosa.indicators.geometry.PieGeometry;
+import com.github.bernardpletikosa.indicators.render.RingPath;
 
 import static android.view.View.MeasureSpec.AT_MOST;
 import static android.view.View.MeasureSpec.EXACTLY;
@@ -28,8 +30,19 @@ public class PieIndicator extends IndicatorView {
 
     protected Direction mDirection;
     protected RectF mMainRect = new RectF();
-    protected Paint mCenterPaint = new Paint();
     protected PointF mCenter = new PointF();
+    protected final PieGeometry mGeometry = new PieGeometry();
+    protected boolean mRing;
+
+    private final Path mFilledPath = new Path();
+    private final Path mRemainingPath = new Path();
+    private final RectF mRingRect = new RectF();
+    private float mRingStart;
+    private float mRingSweep;
+    private boolean mRingValid;
+
+    private final Paint mPeakPaint = new Paint();
+    private IndicatorStyle mPeakStyle;
 
     public PieIndicator(Context context) {
         this(context, null);
@@ -40,13 +53,20 @@ public class PieIndicator extends IndicatorView {
     }
 
     public PieIndicator(Context context, AttributeSet attrs, int defStyle) {
-        super(context, attrs);
+        this(context, attrs, defStyle, 0);
+    }
+
+    public PieIndicator(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+        super(context, attrs, defStyleAttr, defStyleRes);
 
-        loadXmlValues(context.getTheme().obtainStyledAttributes(attrs, R.styleable.PieIndicator, 0, 0));
+        setXmlValues(getXmlPreset());
     }
 
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        if (setCachedMeasure(widthMeasureSpec, heightMeasureSpec)) return;
+
+        final long measureStart = beginMeasureSection();
         int width = MeasureSpec.getSize(widthMeasureSpec);
         int height = MeasureSpec.getSize(heightMeasureSpec);
 
@@ -61,20 +81,38 @@ public class PieIndicator extends IndicatorView {
         setMeasuredDimension((int) (w == 0 ? h : w), (int) (h == 0 ? w : h));
 
         mTextPositionX = (int) mCenter.x;
-        mTextPositionY = (int) (mCenter.y - ((mTextPaint.descent() + mTextPaint.ascent()) / 2));
+        mTextPositionY = (int) (mCenter.y - ((mStyle.getTextPaint().descent() + mStyle.getTextPaint().ascent()) / 2));
+
+        invalidateStaticLayer();
+        mRingValid = false;
+        cacheMeasure(widthMeasureSpec, heightMeasureSpec);
+        endMeasureSection(measureStart);
+    }
+
+    @Override
+    protected void onDrawStatic(Canvas canvas) {
+        canvas.drawCircle(mCenter.x, mCenter.y, mRadius, mStyle.getBackgroundPaint());
     }
 
     @Override
     protected void onDraw(Canvas canvas) {
-        canvas.drawCircle(mCenter.x, mCenter.y, mRadius, mBackgroundPaint);
+        final float sweep = mGeometry.sweepOf(mCurrentValue);
+        if (mRing) {
+            drawRing(canvas, mStartAngle, sweep, mGeometry.sweepOf(mGeometry.getMaxAngle()));
+            if (hasPeak()) drawPeak(canvas);
+            drawText(canvas, mGeometry.valueAt(mCurrentValue, mValueRange));
+            return;
+        }
+
+        drawStatic(canvas);
 
         mMainRect.set(mCenter.x - mRadius, mCenter.y - mRadius, mCenter.x + mRadius, mCenter.y + mRadius);
-        canvas.drawArc(mMainRect, mStartAngle, mDirection == Direction.CLOCKWISE ? mCurrentValue :
-                -mCurrentValue, true, mMainPaint);
+        canvas.drawArc(mMainRect, mStartAngle, sweep, true, mStyle.getMainPaint());
 
-        canvas.drawCircle(mCenter.x, mCenter.y, mInnerRadius, mCenterPaint);
+        canvas.drawCircle(mCenter.x, mCenter.y, mInnerRadius, mStyle.getCenterPaint());
+        if (hasPeak()) drawPeak(canvas);
 
-        drawText(canvas, mCurrentValue / Defaults.PIE_MAX_ANGLE * mValueRange);
+        drawText(canvas, mGeometry.valueAt(mCurrentValue, mValueRange));
     }
 
     /**
@@ -84,8 +122,21 @@ public class PieIndicator extends IndicatorView {
      */
     public void setCenterPaint(int centerColor) throws IllegalArgumentException {
         if (centerColor == 0) return;
-        mCenterPaint.setColor(centerColor);
-        mCenterPaint.setAntiAlias(true);
+        setStyle(mStyle.withCenterColor(centerColor));
+    }
+
+    /**
+     * Sets ring drawing mode. In ring mode only visible annular sectors, indicated part and the
+     * remaining part, are drawn and each pixel is painted once. Center hole stays transparent,
+     * center paint is not used.
+     * XML parameter {@link com.github.bernardpletikosa.indicators.R.attr#pie_ring}
+     * @param ring true to draw indicator as ring, false otherwise
+     */
+    public void setRing(boolean ring) {
+        mRing = ring;
+        mRingValid = false;
+
+        invalidate();
     }
 
     /**
@@ -104,8 +155,9 @@ public class PieIndicator extends IndicatorView {
             throw new IllegalArgumentException("Direction " + direction.name() + " not supported.");
 
         mDirection = direction;
+        mGeometry.setDirection(direction);
 
-        requestLayout();
+        invalidateShape();
         draw();
     }
 
@@ -123,7 +175,7 @@ public class PieIndicator extends IndicatorView {
 
         if (mRadius >= 0) mInnerRadius = (int) (mInnerRadiusPercent / 100f * mRadius);
 
-        requestLayout();
+        invalidateShape();
         draw();
     }
 
@@ -138,7 +190,7 @@ public class PieIndicator extends IndicatorView {
 
         mStartAngle = startAngle;
 
-        requestLayout();
+        invalidateShape();
         draw();
     }
 
@@ -154,10 +206,17 @@ public class PieIndicator extends IndicatorView {
         mRadius = unit == SizeUnit.PX ? radius : (int) dpToPixel(radius);
         mInnerRadius = (int) (mInnerRadiusPercent / 100f * mRadius);
 
-        requestLayout();
+        requestIndicatorLayout();
         draw();
     }
 
+    @Override
+    public void setPeakMarkerWidth(SizeUnit unit, int width) throws IllegalArgumentException {
+        super.setPeakMarkerWidth(unit, width);
+        // Marker paint is rebuilt with new width on next draw
+        mPeakStyle = null;
+    }
+
     /**
      * @return indicator's radius in pixels
      */
@@ -186,6 +245,13 @@ public class PieIndicator extends IndicatorView {
         return mStartAngle;
     }
 
+    /**
+     * @return true if indicator is drawn as ring, false otherwise
+     */
+    public boolean isRing() {
+        return mRing;
+    }
+
     /**
      * @return indicator's direction
      */
@@ -194,35 +260,129 @@ public class PieIndicator extends IndicatorView {
     }
 
     @Override
-    protected ValueAnimator.AnimatorUpdateListener getUpdateListener() {
-        final float absoluteTarget = mTargetValue + Math.abs(mMinValue);
+    protected float calculateShift(float absoluteTarget) {
+        return mGeometry.positionOf(absoluteTarget, mValueRange) - mOldValue;
+    }
 
-        return new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                float maxAnimatedFraction = Math.max(animation.getAnimatedFraction(), 0.01f);
-                float shift = (absoluteTarget / mValueRange) * Defaults.PIE_MAX_ANGLE - mOldValue;
+    //Only wedge between old and new angle changes
+    @Override
+    protected void invalidateValueChange(float oldValue, float newValue) {
+        final float first = getArcStart() + mGeometry.sweepOf(oldValue);
+        final float second = getArcStart() + mGeometry.sweepOf(newValue);
+
+        mDirtyRect.set(mCenter.x, mCenter.y, mCenter.x, mCenter.y);
+        unionArc(mDirtyRect, Math.min(first, second), Math.max(first, second));
+        invalidateDirty(mDirtyRect);
+    }
 
-                mCurrentValue = mOldValue + (shift * maxAnimatedFraction);
+    //Only wedge covering old and new marker changes
+    @Override
+    protected void invalidatePeakChange(float oldPeak, float newPeak) {
+        final float first = mGeometry.positionOf(oldPeak, mValueRange);
+        final float second = mGeometry.positionOf(newPeak, mValueRange);
+        final float half = mPeakMarkerWidth / 2 / getPixelsPerUnit();
 
-                postInvalidate();
-            }
-        };
+        invalidateValueChange(Math.min(first, second) - half, Math.max(first, second) + half);
     }
 
-    void loadXmlValues(TypedArray array) {
-        mCenterPaint.setColor(array.getColor(R.styleable.PieIndicator_pie_center_paint, android.R.color.white));
-        mCenterPaint.setAntiAlias(true);
+    @Override
+    protected float getIndicatedValue() {
+        return mGeometry.valueAt(mCurrentValue, mValueRange);
+    }
 
-        mStartAngle = array.getInt(R.styleable.PieIndicator_pie_start_angle, 0);
-        mDirection = Direction.values()[array.getInt(R.styleable.PieIndicator_pie_direction, 0)];
+    /**
+     * Draws radial peak marker between inner and outer radius, used by all pie types.
+     * @param canvas canvas to draw on
+     */
+    protected void drawPeak(Canvas canvas) {
+        if (mPeakStyle != mStyle) {
+            mPeakPaint.set(mStyle.getMainPaint());
+            mPeakPaint.setStyle(Paint.Style.STROKE);
+            mPeakPaint.setStrokeWidth(mPeakMarkerWidth);
+            mPeakStyle = mStyle;
+        }
+
+        final float angle = getArcStart() + mGeometry.sweepOf(mGeometry.positionOf(getPeak(), mValueRange));
+        final float cos = (float) Math.cos(Math.toRadians(angle));
+        final float sin = (float) Math.sin(Math.toRadians(angle));
+        canvas.drawLine(mCenter.x + mInnerRadius * cos, mCenter.y + mInnerRadius * sin,
+                mCenter.x + mRadius * cos, mCenter.y + mRadius * sin, mPeakPaint);
+    }
+
+    /**
+     * Draws indicated and remaining annular sectors between inner and outer radius. Sector
+     * paths are cached and rebuilt only when angles or geometry change.
+     * @param canvas     canvas to draw on
+     * @param startAngle angle where indication starts
+     * @param sweep      indicated angle, negative for counter clockwise
+     * @param maxSweep   angle of whole indicator, same sign as sweep
+     */
+    protected void drawRing(Canvas canvas, float startAngle, float sweep, float maxSweep) {
+        if (!mRingValid || mRingStart != startAngle || mRingSweep != sweep) {
+            setSector(mFilledPath, startAngle, sweep);
+            setSector(mRemainingPath, startAngle + sweep, maxSweep - sweep);
+            mRingStart = startAngle;
+            mRingSweep = sweep;
+            mRingValid = true;
+        }
+
+        canvas.drawPath(mRemainingPath, mStyle.getBackgroundPaint());
+        canvas.drawPath(mFilledPath, mStyle.getMainPaint());
+    }
+
+    private void setSector(Path path, float startAngle, float sweep) {
+        RingPath.setSector(path, mRingRect, mCenter.x, mCenter.y, mRadius, mInnerRadius, startAngle, sweep);
+    }
+
+    /**
+     * @return angle where indication arc starts when drawing
+     */
+    protected float getArcStart() {
+        return mStartAngle;
+    }
+
+    //Extends rect by outer arc between angles, including axis extremes inside the arc
+    private void unionArc(RectF rect, float fromAngle, float toAngle) {
+        unionArcPoint(rect, fromAngle);
+        for (float angle = (float) Math.ceil(fromAngle / 90) * 90; angle < toAngle; angle += 90)
+            unionArcPoint(rect, angle);
+        unionArcPoint(rect, toAngle);
+    }
 
-        mRadius = (int) array.getDimension(R.styleable.PieIndicator_pie_radius, NO_VALUE);
-        mInnerRadiusPercent = array.getInt(R.styleable.PieIndicator_pie_inner_radius, NO_VALUE);
+    private void unionArcPoint(RectF rect, float angle) {
+        final double radians = Math.toRadians(angle);
+        rect.union(mCenter.x + mRadius * (float) Math.cos(radians), mCenter.y + mRadius * (float) Math.sin(radians));
+    }
+
+    //Arc length of one degree on outer edge
+    @Override
+    protected float getPixelsPerUnit() {
+        return mRadius > 0 ? (float) (Math.PI * mRadius / 180) : 1;
+    }
+
+    private void setXmlValues(IndicatorPreset preset) {
+        mStartAngle = preset.getPieStartAngle();
+        mRing = preset.isPieRing();
+        mDirection = preset.getPieDirection();
+        mGeometry.setDirection(mDirection);
+        setPeakHold(preset.isPeakHold());
+
+        mRadius = preset.getPieRadius();
+        mInnerRadiusPercent = preset.getPieInnerRadius();
         if (mInnerRadiusPercent > 100)
             throw new IllegalArgumentException("InnerRadius value out of bounds");
     }
 
+    void invalidateRing() {
+        mRingValid = false;
+    }
+
+    @Override
+    protected void onShapeChanged() {
+        super.onShapeChanged();
+        invalidateRing();
+    }
+
     void calculateRadius() {
         if (mRadius <= 0)
             mRadius = mCenter.x == 0 || mCenter.y == 0 ? Math.max(mCenter.x, mCenter.y) : Math.min(mCenter.x, mCenter.y);
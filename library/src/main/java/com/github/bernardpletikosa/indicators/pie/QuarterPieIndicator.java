@@ -1,14 +1,11 @@
 package com.github.bernardpletikosa.indicators.pie;
 
-import android.animation.ValueAnimator;
 import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.PointF;
 import android.util.AttributeSet;
 
-import com.github.bernardpletikosa.indicators.R;
-import com.github.bernardpletikosa.indicators.consts.Defaults;
 import com.github.bernardpletikosa.indicators.consts.Orientation;
 
 import static android.view.View.MeasureSpec.AT_MOST;
@@ -32,15 +29,21 @@ public class QuarterPieIndicator extends HalfPieIndicator {
     }
 
     public QuarterPieIndicator(Context context, AttributeSet attrs, int defStyle) {
-        super(context, attrs, defStyle);
+        this(context, attrs, defStyle, 0);
+    }
+
+    public QuarterPieIndicator(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+        super(context, attrs, defStyleAttr, defStyleRes);
 
-        loadXmlValues(context.getTheme().obtainStyledAttributes(attrs, R.styleable.PieIndicator, 0, 0));
-        mOrientation = Orientation.values()[context.getTheme().obtainStyledAttributes(attrs, R.styleable.QuarterPieIndicator, 0, 0)
-                .getInt(R.styleable.QuarterPieIndicator_quarter_pie_orientation, 4)];
+        mGeometry.setMaxAngle(QUARTER_PIE_MAX_ANGLE);
+        mOrientation = getXmlPreset().getQuarterPieOrientation();
     }
 
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        if (setCachedMeasure(widthMeasureSpec, heightMeasureSpec)) return;
+
+        final long measureStart = beginMeasureSection();
         int width = MeasureSpec.getSize(widthMeasureSpec);
         int height = MeasureSpec.getSize(heightMeasureSpec);
 
@@ -57,34 +60,35 @@ public class QuarterPieIndicator extends HalfPieIndicator {
 
         mTextPositionX = calculateTextX();
         mTextPositionY = calculateTextY();
+
+        invalidateStaticLayer();
+        invalidateRing();
+        cacheMeasure(widthMeasureSpec, heightMeasureSpec);
+        endMeasureSection(measureStart);
     }
 
     @Override
     public void onDraw(Canvas canvas) {
-        float value = mDirection == CLOCKWISE ? mCurrentValue : -mCurrentValue;
+        float value = mGeometry.sweepOf(mCurrentValue);
 
-        canvas.drawArc(mBackRect, mStartPos, mEndPos, true, mBackgroundPaint);
-        canvas.drawArc(mMainRect, mStartPos, value, true, mMainPaint);
-        canvas.drawArc(mHelpRect, mStartPos, mEndPos, true, mCenterPaint);
+        if (mRing) {
+            drawRing(canvas, mStartPos, value, mEndPos);
+            if (hasPeak()) drawPeak(canvas);
+            drawText(canvas, mGeometry.valueAt(mCurrentValue, mValueRange));
+            return;
+        }
+
+        drawStatic(canvas);
+        canvas.drawArc(mMainRect, mStartPos, value, true, mStyle.getMainPaint());
+        canvas.drawArc(mHelpRect, mStartPos, mEndPos, true, mStyle.getCenterPaint());
+        if (hasPeak()) drawPeak(canvas);
 
-        drawText(canvas, mCurrentValue / Defaults.QUARTER_PIE_MAX_ANGLE * mValueRange);
+        drawText(canvas, mGeometry.valueAt(mCurrentValue, mValueRange));
     }
 
     @Override
-    protected ValueAnimator.AnimatorUpdateListener getUpdateListener() {
-        final float absoluteTarget = mTargetValue + Math.abs(mMinValue);
-
-        return new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                float maxAnimatedFraction = Math.max(animation.getAnimatedFraction(), 0.01f);
-                int shift = (int) ((absoluteTarget / mValueRange) * QUARTER_PIE_MAX_ANGLE - mOldValue);
-
-                mCurrentValue = mOldValue + (shift * maxAnimatedFraction);
-
-                postInvalidate();
-            }
-        };
+    protected float calculateShift(float absoluteTarget) {
+        return (int) (mGeometry.positionOf(absoluteTarget, mValueRange) - mOldValue);
     }
 
     /**
@@ -103,12 +107,19 @@ public class QuarterPieIndicator extends HalfPieIndicator {
         checkArgument(orientation, "orientation");
 
         mOrientation = orientation;
-        calculateCenter();
 
-        requestLayout();
+        requestIndicatorLayout();
         draw();
     }
 
+    @Override
+    protected void onShapeChanged() {
+        super.onShapeChanged();
+
+        // Half pie rects are replaced by quarter ones, cached shapes are only marked outdated
+        setHelperRects();
+    }
+
     /**
      * Parent method which is not used in {@link QuarterPieIndicator}
      */
@@ -173,23 +184,24 @@ public class QuarterPieIndicator extends HalfPieIndicator {
         if (mOrientation == NORTH_EAST || mOrientation == NORTH_WEST) {
             float x = mOrientation == NORTH_EAST ? mCenter.x - DEFAULT_CORRECTION : mCenter.x + DEFAULT_CORRECTION;
             float y = mCenter.y + DEFAULT_CORRECTION;
-            return new PointF(x, y);
+            mCorrectedCenter.set(x, y);
         } else {
             float x = mOrientation == SOUTH_EAST ? mCenter.x - DEFAULT_CORRECTION : mCenter.x + DEFAULT_CORRECTION;
             float y = mCenter.y - DEFAULT_CORRECTION;
-            return new PointF(x, y);
+            mCorrectedCenter.set(x, y);
         }
+        return mCorrectedCenter;
     }
 
     private int calculateTextX() {
         switch (mOrientation) {
             case NORTH_EAST:
             case SOUTH_EAST:
-                mTextPaint.setTextAlign(Paint.Align.LEFT);
+                mTextAlign = Paint.Align.LEFT;
                 return (int) mCenter.x;
             case NORTH_WEST:
             case SOUTH_WEST:
-                mTextPaint.setTextAlign(Paint.Align.RIGHT);
+                mTextAlign = Paint.Align.RIGHT;
                 return (int) mCenter.x;
             default:
                 return (int) mCenter.x;
@@ -203,7 +215,7 @@ public class QuarterPieIndicator extends HalfPieIndicator {
                 return (int) mCenter.y;
             case SOUTH_EAST:
             case SOUTH_WEST:
-                return (int) ((int) mCenter.y + mTextPaint.getTextSize());
+                return (int) ((int) mCenter.y + mStyle.getTextSize());
             default:
                 return (int) mCenter.y;
         }
@@ -0,0 +1,33 @@
+package com.github.bernardpletikosa.indicators.render;
+
+import android.graphics.Canvas;
+import android.graphics.RectF;
+
+import com.github.bernardpletikosa.indicators.geometry.CircleGeometry;
+import com.github.bernardpletikosa.indicators.geometry.IndicatorGeometry;
+
+/**
+ * Renders {@link com.github.bernardpletikosa.indicators.circle.CircleIndicator} look, value is
+ * shown as radius of inner circle.
+ */
+public class CircleRenderer extends IndicatorRenderer {
+
+    @Override
+    void draw(Canvas canvas, RenderState state, RectF bounds, float fraction) {
+        final CircleGeometry geometry = (CircleGeometry) state.geometry;
+        final float radius = Math.min(bounds.width(), bounds.height()) / 2;
+        geometry.setRadius(radius);
+
+        canvas.drawCircle(bounds.centerX(), bounds.centerY(), radius, state.backgroundPaint);
+        canvas.drawCircle(bounds.centerX(), bounds.centerY(), geometry.positionOf(fraction, 1),
+                state.mainPaint);
+
+        state.textX = bounds.centerX();
+        state.textY = centeredBaseline(state.textPaint, bounds.centerY());
+    }
+
+    @Override
+    IndicatorGeometry newGeometry() {
+        return new CircleGeometry();
+    }
+}
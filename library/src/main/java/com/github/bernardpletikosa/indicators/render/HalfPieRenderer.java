@@ -0,0 +1,84 @@
+package com.github.bernardpletikosa.indicators.render;
+
+import android.graphics.Paint;
+import android.graphics.RectF;
+
+import com.github.bernardpletikosa.indicators.consts.Defaults;
+import com.github.bernardpletikosa.indicators.consts.Direction;
+import com.github.bernardpletikosa.indicators.consts.Orientation;
+import com.github.bernardpletikosa.indicators.pie.StartAngleUtil;
+
+/**
+ * Renders {@link com.github.bernardpletikosa.indicators.pie.HalfPieIndicator} look, half pie
+ * is centered in bounds.
+ */
+public class HalfPieRenderer extends PieRenderer {
+
+    private volatile Orientation mOrientation = Orientation.NORTH;
+
+    /**
+     * Sets orientation of half pie as sides of the world.
+     * Possible values are:
+     * <ul>
+     * <li>{@link Orientation#EAST}</li>
+     * <li>{@link Orientation#WEST}</li>
+     * <li>{@link Orientation#NORTH}</li>
+     * <li>{@link Orientation#SOUTH}</li>
+     * </ul>
+     * @param orientation see possible values
+     */
+    public synchronized void setOrientation(Orientation orientation) throws IllegalArgumentException {
+        if (orientation == null)
+            throw new IllegalArgumentException("orientation can't be null.");
+        if (orientation != Orientation.EAST && orientation != Orientation.WEST &&
+                orientation != Orientation.NORTH && orientation != Orientation.SOUTH)
+            throw new IllegalArgumentException("Orientation " + orientation.name() + " not supported.");
+
+        mOrientation = orientation;
+        changed();
+    }
+
+    /**
+     * @return half pie orientation
+     */
+    public Orientation getOrientation() {
+        return mOrientation;
+    }
+
+    @Override
+    void layout(RenderState state, RectF bounds) {
+        final Orientation orientation = mOrientation;
+        final float width = bounds.width();
+        final float height = bounds.height();
+
+        switch (orientation) {
+            case NORTH:
+            case SOUTH:
+                state.radius = Math.min(width / 2, height);
+                state.center.x = bounds.centerX();
+                state.center.y = bounds.top + (height - state.radius) / 2 +
+                        (orientation == Orientation.NORTH ? state.radius : 0);
+                state.textPaint.setTextAlign(Paint.Align.CENTER);
+                break;
+            default:
+                state.radius = Math.min(width, height / 2);
+                state.center.x = bounds.left + (width - state.radius) / 2 +
+                        (orientation == Orientation.WEST ? state.radius : 0);
+                state.center.y = bounds.centerY();
+                state.textPaint.setTextAlign(orientation == Orientation.EAST ? Paint.Align.LEFT : Paint.Align.RIGHT);
+        }
+
+        state.textX = state.center.x;
+        state.textY = orientation == Orientation.SOUTH ? state.center.y + state.textPaint.getTextSize() : state.center.y;
+    }
+
+    @Override
+    int startAngle(Direction direction) {
+        return StartAngleUtil.halfPieAngle(mOrientation, direction);
+    }
+
+    @Override
+    int maxAngle() {
+        return Defaults.HALF_PIE_MAX_ANGLE;
+    }
+}
@@ -0,0 +1,299 @@
+package com.github.bernardpletikosa.indicators.render;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.PointF;
+import android.graphics.RectF;
+
+import com.github.bernardpletikosa.indicators.IndicatorStyle;
+import com.github.bernardpletikosa.indicators.geometry.IndicatorGeometry;
+import com.github.bernardpletikosa.indicators.text.ValueFormatter;
+
+import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_MAX_VALUE;
+import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_MIN_VALUE;
+
+/**
+ * Draws indicator of one type for a given value onto any {@link android.graphics.Canvas} or
+ * {@link android.graphics.Bitmap} without a view, for notifications, shared images or reports.
+ * <p>Rendering is thread safe, one renderer can draw on many worker threads in parallel. Every
+ * thread draws with its own copy of paints and scratch objects, taken again only after
+ * configuration changes, so rendering doesn't allocate. Configuration setters can be called from
+ * any thread. Rendering already in progress finishes with previous paints and range, shape
+ * options like direction are read when drawing.</p>
+ * <p>Default colors and text size are the ones of {@link IndicatorStyle#DEFAULT}, same as
+ * indicator views, and value is mapped to drawn position by the same core geometry models.</p>
+ */
+public abstract class IndicatorRenderer {
+
+    private final Paint mMainPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint mBackgroundPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint mTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private float mMinValue = DEFAULT_MIN_VALUE;
+    private float mMaxValue = DEFAULT_MAX_VALUE;
+    private boolean mTextShow = true;
+    private boolean mTextDecimal;
+    private String mTextPrefix = "";
+    private String mTextSuffix = "";
+
+    // Written last by every setter, threads compare it with version of their state
+    private volatile int mVersion;
+
+    private final ThreadLocal<RenderState> mState = new ThreadLocal<RenderState>() {
+        @Override
+        protected RenderState initialValue() {
+            return new RenderState(newGeometry());
+        }
+    };
+
+    IndicatorRenderer() {
+        mMainPaint.setColor(IndicatorStyle.DEFAULT.getMainColor());
+        mBackgroundPaint.setColor(IndicatorStyle.DEFAULT.getBackgroundColor());
+        mTextPaint.setColor(IndicatorStyle.DEFAULT.getTextColor());
+        mTextPaint.setTextSize(IndicatorStyle.DEFAULT.getTextSize());
+        mTextPaint.setTextAlign(Paint.Align.CENTER);
+    }
+
+    /**
+     * Draws indicator showing value into bounds.
+     * @param canvas canvas to draw on
+     * @param bounds area indicator is fitted into
+     * @param value  value to show, clamped to range
+     */
+    public void render(Canvas canvas, RectF bounds, float value) {
+        render(canvas, bounds, value, null);
+    }
+
+    /**
+     * Draws indicator showing value into bounds with color filter applied to all paints.
+     * @param canvas      canvas to draw on
+     * @param bounds      area indicator is fitted into
+     * @param value       value to show, clamped to range
+     * @param colorFilter filter applied to indicator colors, null for none
+     */
+    public void render(Canvas canvas, RectF bounds, float value, ColorFilter colorFilter) {
+        RenderState state = obtainState();
+        if (state.colorFilter != colorFilter) {
+            state.mainPaint.setColorFilter(colorFilter);
+            state.backgroundPaint.setColorFilter(colorFilter);
+            state.centerPaint.setColorFilter(colorFilter);
+            state.textPaint.setColorFilter(colorFilter);
+            state.colorFilter = colorFilter;
+        }
+
+        float range = state.maxValue - state.minValue;
+        float fraction = Math.max(0, Math.min(1, (value - state.minValue) / range));
+
+        state.textPaint.setTextAlign(Paint.Align.CENTER);
+        draw(canvas, state, bounds, fraction);
+
+        if (!state.textShow) return;
+        int length = state.formatter.format(state.minValue + fraction * range, state.textDecimal);
+        canvas.drawText(state.formatter.getBuffer(), 0, length, state.textX, state.textY, state.textPaint);
+    }
+
+    /**
+     * Draws indicator showing value over the whole bitmap.
+     * @param bitmap mutable bitmap to draw on
+     * @param value  value to show, clamped to range
+     */
+    public void render(Bitmap bitmap, float value) {
+        RenderState state = obtainState();
+        state.canvas.setBitmap(bitmap);
+        state.bounds.set(0, 0, bitmap.getWidth(), bitmap.getHeight());
+
+        render(state.canvas, state.bounds, value);
+        state.canvas.setBitmap(null);
+    }
+
+    /**
+     * Draws indicator shape, text is drawn afterwards at {@link RenderState#textX},
+     * {@link RenderState#textY} which must be set here.
+     * @param fraction shown part of range [0, 1]
+     */
+    abstract void draw(Canvas canvas, RenderState state, RectF bounds, float fraction);
+
+    /**
+     * Creates geometry model kept in every thread's state, sized for bounds when drawing.
+     * Renderers map fraction to drawn position as absolute value in range of size 1.
+     */
+    abstract IndicatorGeometry newGeometry();
+
+    /**
+     * Copies type specific configuration into thread's state, called while holding renderer lock.
+     */
+    void sync(RenderState state) {
+    }
+
+    /**
+     * Marks configuration as changed, must be called at the end of every setter.
+     */
+    final void changed() {
+        mVersion++;
+    }
+
+    private RenderState obtainState() {
+        RenderState state = mState.get();
+        if (state.version == mVersion) return state;
+
+        synchronized (this) {
+            state.mainPaint.set(mMainPaint);
+            state.backgroundPaint.set(mBackgroundPaint);
+            state.textPaint.set(mTextPaint);
+            state.minValue = mMinValue;
+            state.maxValue = mMaxValue;
+            state.textShow = mTextShow;
+            state.textDecimal = mTextDecimal;
+            state.formatter.setPrefix(mTextPrefix);
+            state.formatter.setSuffix(mTextSuffix);
+            sync(state);
+            // Copied paints come without filter, it is set again on next render
+            state.colorFilter = null;
+            state.version = mVersion;
+        }
+
+        return state;
+    }
+
+    /**
+     * Sets values range. Default is [0, 100].
+     * @param minValue minimum value
+     * @param maxValue maximum value
+     */
+    public synchronized void setRange(float minValue, float maxValue) throws IllegalArgumentException {
+        if (minValue >= maxValue)
+            throw new IllegalArgumentException("Invalid range {minValue >= maxValue}");
+
+        mMinValue = minValue;
+        mMaxValue = maxValue;
+        changed();
+    }
+
+    /**
+     * @param mainColor color of indicated part
+     */
+    public synchronized void setMainColor(int mainColor) {
+        mMainPaint.setColor(mainColor);
+        changed();
+    }
+
+    /**
+     * @param backgroundColor color of not indicated part
+     */
+    public synchronized void setBackgroundColor(int backgroundColor) {
+        mBackgroundPaint.setColor(backgroundColor);
+        changed();
+    }
+
+    /**
+     * @param textColor value text color
+     */
+    public synchronized void setTextColor(int textColor) {
+        mTextPaint.setColor(textColor);
+        changed();
+    }
+
+    /**
+     * @param textSize value text size in pixels
+     */
+    public synchronized void setTextSize(float textSize) throws IllegalArgumentException {
+        if (textSize <= 0)
+            throw new IllegalArgumentException("Argument text size can't be less than 0.");
+
+        mTextPaint.setTextSize(textSize);
+        changed();
+    }
+
+    /**
+     * @param show true to draw value text, false otherwise. Default is true
+     */
+    public synchronized void setTextShow(boolean show) {
+        mTextShow = show;
+        changed();
+    }
+
+    /**
+     * @param decimal true to show value with two decimals, false to show integer part
+     */
+    public synchronized void setTextDecimal(boolean decimal) {
+        mTextDecimal = decimal;
+        changed();
+    }
+
+    /**
+     * @param prefix text shown before value
+     */
+    public synchronized void setTextPrefix(String prefix) throws IllegalArgumentException {
+        if (prefix == null)
+            throw new IllegalArgumentException("prefix can't be null.");
+
+        mTextPrefix = prefix;
+        changed();
+    }
+
+    /**
+     * @param suffix text shown after value
+     */
+    public synchronized void setTextSuffix(String suffix) throws IllegalArgumentException {
+        if (suffix == null)
+            throw new IllegalArgumentException("suffix can't be null.");
+
+        mTextSuffix = suffix;
+        changed();
+    }
+
+    /**
+     * @return minimum value
+     */
+    public synchronized float getMinValue() {
+        return mMinValue;
+    }
+
+    /**
+     * @return maximum value
+     */
+    public synchronized float getMaxValue() {
+        return mMaxValue;
+    }
+
+    //Text baseline which vertically centers text on y
+    static float centeredBaseline(Paint paint, float y) {
+        return y - (paint.descent() + paint.ascent()) / 2;
+    }
+
+    /**
+     * Per thread copy of configuration and scratch objects.
+     */
+    static class RenderState {
+        int version = -1;
+
+        final IndicatorGeometry geometry;
+
+        final Paint mainPaint = new Paint();
+        final Paint backgroundPaint = new Paint();
+        final Paint centerPaint = new Paint();
+        final Paint textPaint = new Paint();
+        final ValueFormatter formatter = new ValueFormatter();
+        ColorFilter colorFilter;
+        float minValue;
+        float maxValue;
+        boolean textShow;
+        boolean textDecimal;
+
+        final Canvas canvas = new Canvas();
+        final RectF bounds = new RectF();
+        final RectF rect = new RectF();
+        final Path path = new Path();
+        final Path secondPath = new Path();
+        final PointF center = new PointF();
+        float radius;
+        float textX;
+        float textY;
+
+        RenderState(IndicatorGeometry geometry) {
+            this.geometry = geometry;
+        }
+    }
+}
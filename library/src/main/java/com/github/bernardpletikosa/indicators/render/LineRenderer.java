@@ -0,0 +1,82 @@
+package com.github.bernardpletikosa.indicators.render;
+
+import android.graphics.Canvas;
+import android.graphics.RectF;
+
+import com.github.bernardpletikosa.indicators.consts.Direction;
+import com.github.bernardpletikosa.indicators.geometry.IndicatorGeometry;
+import com.github.bernardpletikosa.indicators.geometry.LineGeometry;
+
+/**
+ * Renders {@link com.github.bernardpletikosa.indicators.line.LineIndicator} look, line fills
+ * whole bounds.
+ */
+public class LineRenderer extends IndicatorRenderer {
+
+    private volatile Direction mDirection = Direction.LEFT_RIGHT;
+
+    /**
+     * Sets direction in which line grows.
+     * Possible values are:
+     * <ul>
+     * <li>{@link Direction#LEFT_RIGHT}</li>
+     * <li>{@link Direction#RIGHT_LEFT}</li>
+     * <li>{@link Direction#BOTTOM_TOP}</li>
+     * <li>{@link Direction#TOP_BOTTOM}</li>
+     * </ul>
+     * @param direction see possible values
+     */
+    public synchronized void setDirection(Direction direction) throws IllegalArgumentException {
+        if (direction == null)
+            throw new IllegalArgumentException("direction can't be null.");
+        if (direction == Direction.CLOCKWISE || direction == Direction.COUNTER_CLOCKWISE)
+            throw new IllegalArgumentException("Direction " + direction.name() + " not supported.");
+
+        mDirection = direction;
+        changed();
+    }
+
+    /**
+     * @return line direction
+     */
+    public Direction getDirection() {
+        return mDirection;
+    }
+
+    @Override
+    void draw(Canvas canvas, RenderState state, RectF bounds, float fraction) {
+        final LineGeometry geometry = (LineGeometry) state.geometry;
+        final Direction direction = mDirection;
+        geometry.set(bounds.width(), bounds.height(), direction);
+
+        // Position is measured from top left corner, where indication ends or starts
+        final float position = geometry.positionOf(fraction, 1);
+        final RectF rect = state.rect;
+        rect.set(bounds);
+        switch (direction) {
+            case LEFT_RIGHT:
+                rect.right = bounds.left + position;
+                break;
+            case RIGHT_LEFT:
+                rect.left = bounds.left + position;
+                break;
+            case TOP_BOTTOM:
+                rect.bottom = bounds.top + position;
+                break;
+            case BOTTOM_TOP:
+            default:
+                rect.top = bounds.top + position;
+        }
+
+        canvas.drawRect(bounds, state.backgroundPaint);
+        canvas.drawRect(rect, state.mainPaint);
+
+        state.textX = bounds.centerX();
+        state.textY = centeredBaseline(state.textPaint, bounds.centerY());
+    }
+
+    @Override
+    IndicatorGeometry newGeometry() {
+        return new LineGeometry();
+    }
+}
@@ -0,0 +1,190 @@
+package com.github.bernardpletikosa.indicators.render;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+
+import com.github.bernardpletikosa.indicators.consts.Defaults;
+import com.github.bernardpletikosa.indicators.IndicatorStyle;
+import com.github.bernardpletikosa.indicators.consts.Direction;
+import com.github.bernardpletikosa.indicators.geometry.IndicatorGeometry;
+import com.github.bernardpletikosa.indicators.geometry.PieGeometry;
+
+import static com.github.bernardpletikosa.indicators.consts.Defaults.DEFAULT_CORRECTION;
+
+/**
+ * Renders {@link com.github.bernardpletikosa.indicators.pie.PieIndicator} look, pie is centered
+ * in bounds.
+ */
+public class PieRenderer extends IndicatorRenderer {
+
+    private static final int DEFAULT_INNER_RADIUS = 50;
+
+    private final Paint mCenterPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private volatile Direction mDirection = Direction.CLOCKWISE;
+    private volatile int mStartAngle;
+    private volatile int mInnerRadius = DEFAULT_INNER_RADIUS;
+    private volatile boolean mRing;
+
+    public PieRenderer() {
+        mCenterPaint.setColor(IndicatorStyle.DEFAULT.getCenterColor());
+    }
+
+    /**
+     * @param centerColor color of center hole, not used in ring mode
+     */
+    public synchronized void setCenterColor(int centerColor) {
+        mCenterPaint.setColor(centerColor);
+        changed();
+    }
+
+    /**
+     * @param direction {@link Direction#CLOCKWISE} or {@link Direction#COUNTER_CLOCKWISE}
+     */
+    public synchronized void setDirection(Direction direction) throws IllegalArgumentException {
+        if (direction == null)
+            throw new IllegalArgumentException("direction can't be null.");
+        if (direction != Direction.CLOCKWISE && direction != Direction.COUNTER_CLOCKWISE)
+            throw new IllegalArgumentException("Direction " + direction.name() + " not supported.");
+
+        mDirection = direction;
+        changed();
+    }
+
+    /**
+     * @param innerRadius center hole radius as percentage of radius [0, 100], default is 50
+     */
+    public synchronized void setInnerRadius(int innerRadius) throws IllegalArgumentException {
+        if (innerRadius < 0 || innerRadius > 100)
+            throw new IllegalArgumentException("InnerRadius value out of bounds");
+
+        mInnerRadius = innerRadius;
+        changed();
+    }
+
+    /**
+     * @param ring true to draw only indicated and remaining ring sectors with transparent center
+     */
+    public synchronized void setRing(boolean ring) {
+        mRing = ring;
+        changed();
+    }
+
+    /**
+     * Sets angle where indication starts, used by full pie only.
+     * @param startAngle [0, 360]
+     */
+    public synchronized void setStartingAngle(int startAngle) throws IllegalArgumentException {
+        if (startAngle < 0 || startAngle > Defaults.PIE_MAX_ANGLE)
+            throw new IllegalArgumentException("Starting angle value out of bounds.");
+
+        mStartAngle = startAngle;
+        changed();
+    }
+
+    /**
+     * @return pie direction
+     */
+    public Direction getDirection() {
+        return mDirection;
+    }
+
+    /**
+     * @return center hole radius as percentage of radius
+     */
+    public int getInnerRadius() {
+        return mInnerRadius;
+    }
+
+    /**
+     * @return true if pie is drawn as ring, false otherwise
+     */
+    public boolean isRing() {
+        return mRing;
+    }
+
+    /**
+     * @return angle where indication starts
+     */
+    public int getStartAngle() {
+        return mStartAngle;
+    }
+
+    @Override
+    void sync(RenderState state) {
+        state.centerPaint.set(mCenterPaint);
+    }
+
+    /**
+     * Fits pie into bounds, sets {@link RenderState#center}, {@link RenderState#radius} and text
+     * position.
+     */
+    void layout(RenderState state, RectF bounds) {
+        state.center.set(bounds.centerX(), bounds.centerY());
+        state.radius = Math.min(bounds.width(), bounds.height()) / 2;
+        state.textX = bounds.centerX();
+        state.textY = centeredBaseline(state.textPaint, bounds.centerY());
+    }
+
+    int startAngle(Direction direction) {
+        return mStartAngle;
+    }
+
+    int maxAngle() {
+        return Defaults.PIE_MAX_ANGLE;
+    }
+
+    @Override
+    void draw(Canvas canvas, RenderState state, RectF bounds, float fraction) {
+        layout(state, bounds);
+
+        final PieGeometry geometry = (PieGeometry) state.geometry;
+        final Direction direction = mDirection;
+        geometry.setMaxAngle(maxAngle());
+        geometry.setDirection(direction);
+
+        final float cx = state.center.x;
+        final float cy = state.center.y;
+        final float radius = state.radius;
+        final float innerRadius = mInnerRadius / 100f * radius;
+        final int start = startAngle(direction);
+        final float maxSweep = geometry.sweepOf(geometry.getMaxAngle());
+        final float sweep = geometry.sweepOf(geometry.positionOf(fraction, 1));
+
+        if (mRing) {
+            RingPath.setSector(state.path, state.rect, cx, cy, radius, innerRadius, start, sweep);
+            RingPath.setSector(state.secondPath, state.rect, cx, cy, radius, innerRadius,
+                    start + sweep, maxSweep - sweep);
+            canvas.drawPath(state.secondPath, state.backgroundPaint);
+            canvas.drawPath(state.path, state.mainPaint);
+            return;
+        }
+
+        state.rect.set(cx - radius, cy - radius, cx + radius, cy + radius);
+        if (geometry.getMaxAngle() == Defaults.PIE_MAX_ANGLE) {
+            canvas.drawCircle(cx, cy, radius, state.backgroundPaint);
+            canvas.drawArc(state.rect, start, sweep, true, state.mainPaint);
+            canvas.drawCircle(cx, cy, innerRadius, state.centerPaint);
+            return;
+        }
+
+        canvas.drawArc(state.rect, start, maxSweep, true, state.backgroundPaint);
+        canvas.drawArc(state.rect, start, sweep, true, state.mainPaint);
+
+        // Center wedge is moved away from the arc to cover anti aliased edges at its sides
+        final double bisector = Math.toRadians(start + maxSweep / 2);
+        final float x = cx - correction(Math.cos(bisector));
+        final float y = cy - correction(Math.sin(bisector));
+        state.rect.set(x - innerRadius, y - innerRadius, x + innerRadius, y + innerRadius);
+        canvas.drawArc(state.rect, start, maxSweep, true, state.centerPaint);
+    }
+
+    @Override
+    IndicatorGeometry newGeometry() {
+        return new PieGeometry();
+    }
+
+    private static float correction(double axis) {
+        return Math.abs(axis) < 0.01 ? 0 : axis > 0 ? DEFAULT_CORRECTION : -DEFAULT_CORRECTION;
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.bernardpletikosa.indicators.render;
+
+import android.graphics.Paint;
+import android.graphics.RectF;
+
+import com.github.bernardpletikosa.indicators.consts.Defaults;
+import com.github.bernardpletikosa.indicators.consts.Direction;
+import com.github.bernardpletikosa.indicators.consts.Orientation;
+import com.github.bernardpletikosa.indicators.pie.StartAngleUtil;
+
+/**
+ * Renders {@link com.github.bernardpletikosa.indicators.pie.QuarterPieIndicator} look, quarter
+ * pie is centered in bounds.
+ */
+public class QuarterPieRenderer extends PieRenderer {
+
+    private volatile Orientation mOrientation = Orientation.NORTH_EAST;
+
+    /**
+     * Sets orientation of quarter pie as sides of the world.
+     * Possible values are:
+     * <ul>
+     * <li>{@link Orientation#SOUTH_EAST}</li>
+     * <li>{@link Orientation#SOUTH_WEST}</li>
+     * <li>{@link Orientation#NORTH_EAST}</li>
+     * <li>{@link Orientation#NORTH_WEST}</li>
+     * </ul>
+     * @param orientation see possible values
+     */
+    public synchronized void setOrientation(Orientation orientation) throws IllegalArgumentException {
+        if (orientation == null)
+            throw new IllegalArgumentException("orientation can't be null.");
+        if (orientation != Orientation.SOUTH_EAST && orientation != Orientation.SOUTH_WEST &&
+                orientation != Orientation.NORTH_EAST && orientation != Orientation.NORTH_WEST)
+            throw new IllegalArgumentException("Orientation " + orientation.name() + " not supported.");
+
+        mOrientation = orientation;
+        changed();
+    }
+
+    /**
+     * @return quarter pie orientation
+     */
+    public Orientation getOrientation() {
+        return mOrientation;
+    }
+
+    @Override
+    void layout(RenderState state, RectF bounds) {
+        final Orientation orientation = mOrientation;
+        final boolean north = orientation == Orientation.NORTH_EAST || orientation == Orientation.NORTH_WEST;
+        final boolean west = orientation == Orientation.NORTH_WEST || orientation == Orientation.SOUTH_WEST;
+        final float radius = Math.min(bounds.width(), bounds.height());
+
+        // Center is the corner opposite to the arc
+        state.radius = radius;
+        state.center.x = bounds.left + (bounds.width() - radius) / 2 + (west ? radius : 0);
+        state.center.y = bounds.top + (bounds.height() - radius) / 2 + (north ? radius : 0);
+
+        state.textPaint.setTextAlign(west ? Paint.Align.RIGHT : Paint.Align.LEFT);
+        state.textX = state.center.x;
+        state.textY = north ? state.center.y : state.center.y + state.textPaint.getTextSize();
+    }
+
+    @Override
+    int startAngle(Direction direction) {
+        return StartAngleUtil.quarterPieAngle(mOrientation, direction);
+    }
+
+    @Override
+    int maxAngle() {
+        return Defaults.QUARTER_PIE_MAX_ANGLE;
+    }
+}
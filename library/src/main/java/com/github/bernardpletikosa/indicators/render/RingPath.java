@@ -0,0 +1,49 @@
+package com.github.bernardpletikosa.indicators.render;
+
+import android.graphics.Path;
+import android.graphics.RectF;
+
+import com.github.bernardpletikosa.indicators.consts.Defaults;
+
+/**
+ * Builds annular sector paths used for ring drawing of pie indicators.
+ */
+public final class RingPath {
+
+    private RingPath() {
+    }
+
+    /**
+     * Replaces path with annular sector between inner and outer radius. Sweep of full circle or
+     * more gives whole ring, zero sweep gives empty path.
+     * @param path        path to overwrite
+     * @param scratch     rect used while building the path
+     * @param cx          center x
+     * @param cy          center y
+     * @param radius      outer radius
+     * @param innerRadius inner radius, 0 for a pie slice
+     * @param startAngle  sector start angle in degrees
+     * @param sweep       sector sweep angle in degrees, negative for counter clockwise
+     */
+    public static void setSector(Path path, RectF scratch, float cx, float cy, float radius,
+                                 float innerRadius, float startAngle, float sweep) {
+        path.reset();
+        if (sweep == 0) return;
+
+        if (Math.abs(sweep) >= Defaults.PIE_MAX_ANGLE) {
+            path.addCircle(cx, cy, radius, Path.Direction.CW);
+            if (innerRadius > 0) path.addCircle(cx, cy, innerRadius, Path.Direction.CCW);
+            return;
+        }
+
+        scratch.set(cx - radius, cy - radius, cx + radius, cy + radius);
+        path.arcTo(scratch, startAngle, sweep, true);
+        if (innerRadius > 0) {
+            scratch.set(cx - innerRadius, cy - innerRadius, cx + innerRadius, cy + innerRadius);
+            path.arcTo(scratch, startAngle + sweep, -sweep);
+        } else {
+            path.lineTo(cx, cy);
+        }
+        path.close();
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.bernardpletikosa.indicators.render;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.RectF;
+
+import com.github.bernardpletikosa.indicators.consts.Direction;
+import com.github.bernardpletikosa.indicators.geometry.IndicatorGeometry;
+import com.github.bernardpletikosa.indicators.geometry.TriangleGeometry;
+
+/**
+ * Renders {@link com.github.bernardpletikosa.indicators.triangle.TriangleIndicator} look,
+ * triangle fills whole bounds.
+ */
+public class TriangleRenderer extends IndicatorRenderer {
+
+    private volatile Direction mDirection = Direction.LEFT_RIGHT;
+
+    /**
+     * Sets direction in which triangle grows.
+     * Possible values are:
+     * <ul>
+     * <li>{@link Direction#LEFT_RIGHT}</li>
+     * <li>{@link Direction#RIGHT_LEFT}</li>
+     * </ul>
+     * @param direction see possible values
+     */
+    public synchronized void setDirection(Direction direction) throws IllegalArgumentException {
+        if (direction == null)
+            throw new IllegalArgumentException("direction can't be null.");
+        if (direction != Direction.LEFT_RIGHT && direction != Direction.RIGHT_LEFT)
+            throw new IllegalArgumentException("Direction " + direction.name() + " not supported.");
+
+        mDirection = direction;
+        changed();
+    }
+
+    /**
+     * @return triangle direction
+     */
+    public Direction getDirection() {
+        return mDirection;
+    }
+
+    @Override
+    void sync(RenderState state) {
+        state.mainPaint.setStyle(Paint.Style.FILL_AND_STROKE);
+        state.backgroundPaint.setStyle(Paint.Style.FILL_AND_STROKE);
+    }
+
+    @Override
+    void draw(Canvas canvas, RenderState state, RectF bounds, float fraction) {
+        final TriangleGeometry geometry = (TriangleGeometry) state.geometry;
+        final Direction direction = mDirection;
+        final boolean leftRight = direction == Direction.LEFT_RIGHT;
+        final float width = bounds.width();
+        final float height = bounds.height();
+        final Path background = state.path;
+        final Path main = state.secondPath;
+        geometry.set(width, height, direction);
+        final float position = geometry.positionOf(fraction, 1);
+        final float top = bounds.top + geometry.topAt(position);
+
+        background.reset();
+        main.reset();
+        background.moveTo(bounds.left, bounds.bottom);
+        if (leftRight) {
+            // Indicated triangle grows from left corner
+            background.lineTo(bounds.right, bounds.top);
+            main.moveTo(bounds.left, bounds.bottom);
+            main.lineTo(bounds.left + position, top);
+            main.lineTo(bounds.left + position, bounds.bottom);
+        } else {
+            // Not indicated triangle shrinks towards right corner, drawn over filled shape
+            background.lineTo(bounds.left, bounds.top);
+            main.moveTo(bounds.right, bounds.bottom);
+            main.lineTo(bounds.right - position, top);
+            main.lineTo(bounds.right - position, bounds.bottom);
+        }
+        background.lineTo(bounds.right, bounds.bottom);
+        background.close();
+        main.close();
+
+        canvas.drawPath(background, leftRight ? state.backgroundPaint : state.mainPaint);
+        canvas.drawPath(main, leftRight ? state.mainPaint : state.backgroundPaint);
+
+        state.textX = bounds.left + 2f / 3f * width;
+        state.textY = centeredBaseline(state.textPaint, bounds.top + 2f / 3f * height);
+    }
+
+    @Override
+    IndicatorGeometry newGeometry() {
+        return new TriangleGeometry();
+    }
+}
@@ -0,0 +1,204 @@
+package com.github.bernardpletikosa.indicators.sparkline;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.util.AttributeSet;
+
+import com.github.bernardpletikosa.indicators.HistoryIndicator;
+import com.github.bernardpletikosa.indicators.IndicatorPreset;
+import com.github.bernardpletikosa.indicators.geometry.SparklineGeometry;
+
+/**
+ * Shows recent history of indicated value as a polyline, newest value at the right edge.
+ * <p>Values are kept in a fixed capacity ring buffer, so memory is bounded and every append
+ * is O(1): it stores the value and the one line segment ending in it. Older segments are never
+ * rebuilt, the polyline scrolls by drawing the two halves of the ring with shifted canvas.
+ * Values can be indicated from any thread, every value is appended, and redraw is requested at
+ * most once per frame.</p>
+ */
+public class SparklineIndicator extends HistoryIndicator<SparklineGeometry> {
+
+    private static final int WIDTH_TO_HEIGHT = 4;
+    private static final int FLOATS_PER_SEGMENT = 4;
+
+    // Guarded by mLock
+    private float[] mSamples;
+    private float[] mSegments;
+    private int mHead;
+    private int mCount;
+
+    public SparklineIndicator(Context context) {
+        this(context, null);
+    }
+
+    public SparklineIndicator(Context context, AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public SparklineIndicator(Context context, AttributeSet attrs, int defStyle) {
+        this(context, attrs, defStyle, 0);
+    }
+
+    public SparklineIndicator(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+        super(context, attrs, defStyleAttr, defStyleRes, new SparklineGeometry(), WIDTH_TO_HEIGHT);
+
+        setXmlValues(getXmlPreset());
+    }
+
+    private void setXmlValues(IndicatorPreset preset) {
+        setXmlLineWidth(preset.getSparklineLineWidth());
+        setCapacity(preset.getSparklineCapacity());
+    }
+
+    @Override
+    protected void onHistoryMeasured(int width, int height) {
+        rebuildSegments();
+    }
+
+    @Override
+    protected void drawHistory(Canvas canvas, Paint linePaint) {
+        synchronized (mLock) {
+            drawSegments(canvas, linePaint);
+        }
+    }
+
+    private void drawSegments(Canvas canvas, Paint linePaint) {
+        final int capacity = mSamples.length;
+        if (mCount < 2) return;
+
+        // Segment in slot i ends in sample i, segment of slot 0 starts one step left of it
+        final float step = mGeometry.getStep();
+        final int count = canvas.save();
+        if (mCount < capacity) {
+            // Until ring is full newest sample is in slot mCount - 1, shifted to the right edge
+            canvas.translate((capacity - mCount) * step, 0);
+            canvas.drawLines(mSegments, FLOATS_PER_SEGMENT, (mCount - 1) * FLOATS_PER_SEGMENT, linePaint);
+            canvas.restoreToCount(count);
+            return;
+        }
+
+        // Oldest sample is at head, its segment starts in a dropped sample and is skipped
+        canvas.translate(-mHead * step, 0);
+        if (mHead + 1 < capacity)
+            canvas.drawLines(mSegments, (mHead + 1) * FLOATS_PER_SEGMENT,
+                    (capacity - mHead - 1) * FLOATS_PER_SEGMENT, linePaint);
+        canvas.translate(capacity * step, 0);
+        if (mHead > 0)
+            canvas.drawLines(mSegments, 0, mHead * FLOATS_PER_SEGMENT, linePaint);
+        canvas.restoreToCount(count);
+    }
+
+    /**
+     * Appends value to history and animates value text to it. Method can be called from any
+     * thread and every value is appended, values out of range are drawn at range edge.
+     * @param value value to indicate
+     */
+    @Override
+    public void indicate(float value) {
+        append(value);
+        super.indicate(value);
+    }
+
+    /**
+     * Appends value to history without changing indicated value. Method can be called from any
+     * thread.
+     * @param value value to append
+     */
+    public void append(float value) {
+        synchronized (mLock) {
+            final int slot = mHead;
+            mSamples[slot] = value;
+            setSegment(slot, slot > 0 || mCount == mSamples.length);
+
+            mHead = slot + 1 == mSamples.length ? 0 : slot + 1;
+            if (mCount < mSamples.length) mCount++;
+        }
+
+        invalidateFromAnyThread();
+    }
+
+    /**
+     * Removes all values from history.
+     */
+    public void clear() {
+        synchronized (mLock) {
+            mHead = 0;
+            mCount = 0;
+        }
+
+        invalidateFromAnyThread();
+    }
+
+    /**
+     * Sets number of values kept in history, history is cleared. Default is 64.
+     * XML parameter {@link com.github.bernardpletikosa.indicators.R.attr#sparkline_capacity}
+     * @param capacity number of values, at least 2
+     */
+    public void setCapacity(int capacity) throws IllegalArgumentException {
+        if (capacity < 2)
+            throw new IllegalArgumentException("Argument capacity can't be less than 2.");
+
+        synchronized (mLock) {
+            mSamples = new float[capacity];
+            mSegments = new float[capacity * FLOATS_PER_SEGMENT];
+            mHead = 0;
+            mCount = 0;
+            mGeometry.setCapacity(capacity);
+        }
+
+        requestIndicatorLayout();
+        invalidate();
+    }
+
+    @Override
+    public void setRange(float minValue, float maxValue) throws IllegalArgumentException {
+        super.setRange(minValue, maxValue);
+
+        // Called from parent constructor before history exists
+        if (mSamples == null) return;
+        synchronized (mLock) {
+            rebuildSegments();
+        }
+        invalidate();
+    }
+
+    /**
+     * @return number of values kept in history
+     */
+    public int getCapacity() {
+        synchronized (mLock) {
+            return mSamples.length;
+        }
+    }
+
+    /**
+     * @return number of values currently in history
+     */
+    public int getCount() {
+        synchronized (mLock) {
+            return mCount;
+        }
+    }
+
+    private void rebuildSegments() {
+        final int capacity = mSamples.length;
+        final int oldest = mCount < capacity ? 0 : mHead;
+        for (int i = 0; i < mCount; i++) {
+            int slot = oldest + i < capacity ? oldest + i : oldest + i - capacity;
+            setSegment(slot, i > 0);
+        }
+    }
+
+    private void setSegment(int slot, boolean hasPrevious) {
+        final float step = mGeometry.getStep();
+        final float y = mGeometry.yOf(mSamples[slot] - mMinValue, mValueRange);
+        final int previous = slot == 0 ? mSamples.length - 1 : slot - 1;
+        final int i = slot * FLOATS_PER_SEGMENT;
+
+        mSegments[i] = (slot - 1) * step;
+        mSegments[i + 1] = hasPrevious ? mGeometry.yOf(mSamples[previous] - mMinValue, mValueRange) : y;
+        mSegments[i + 2] = slot * step;
+        mSegments[i + 3] = y;
+    }
+}
@@ -0,0 +1,223 @@
+package com.github.bernardpletikosa.indicators.text;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Typeface;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bitmap holding pre-rendered value glyphs (digits, sign and decimal point), prefix and suffix
+ * for one text style. Drawing value text then becomes a few bitmap blits instead of font shaping
+ * and glyph rasterization on every frame.
+ * <p>Atlases are shared between all users of the same typeface, text size, color, prefix and
+ * suffix. Atlas is rendered once and never changes, its bitmap is never recycled because display
+ * lists recorded by any of its users may still draw it, it is left to garbage collection.
+ * Use {@link #obtain(android.graphics.Paint, String, String)} and {@link #release()} from the
+ * main thread only.</p>
+ */
+public class GlyphAtlas {
+
+    private static final String GLYPHS = "0123456789-.,";
+    private static final Map<Key, GlyphAtlas> sAtlases = new HashMap<Key, GlyphAtlas>();
+
+    private final Key mKey;
+    private final Paint mPaint;
+    private final Paint mBlitPaint = new Paint();
+    private final RectF mDst = new RectF();
+
+    private final float[] mGlyphAdvances = new float[GLYPHS.length()];
+    private final Rect[] mGlyphCells = new Rect[GLYPHS.length()];
+    private final Rect mPrefixCell;
+    private final Rect mSuffixCell;
+    private final float mPrefixAdvance;
+    private final float mSuffixAdvance;
+
+    private Bitmap mBitmap;
+    private final int mPadding;
+    private final int mLineHeight;
+    private final int mBaseline;
+    private int mReferences;
+
+    private GlyphAtlas(Key key, Paint source) {
+        mKey = key;
+        mPaint = new Paint(source);
+        mPaint.setTextAlign(Paint.Align.LEFT);
+
+        mPadding = (int) Math.ceil(mPaint.getTextSize() / 10);
+        mBaseline = (int) Math.ceil(-mPaint.ascent()) + mPadding;
+        mLineHeight = mBaseline + (int) Math.ceil(mPaint.descent()) + mPadding;
+
+        char[] glyph = new char[1];
+        int left = 0;
+        for (int i = 0; i < GLYPHS.length(); i++) {
+            glyph[0] = GLYPHS.charAt(i);
+            mGlyphAdvances[i] = mPaint.measureText(glyph, 0, 1);
+
+            int width = (int) Math.ceil(mGlyphAdvances[i]) + 2 * mPadding;
+            mGlyphCells[i] = new Rect(left, 0, left + width, mLineHeight);
+            left += width;
+        }
+
+        mPrefixAdvance = mPaint.measureText(key.prefix);
+        mSuffixAdvance = mPaint.measureText(key.suffix);
+        mPrefixCell = textCell(mPrefixAdvance, mLineHeight);
+        mSuffixCell = textCell(mSuffixAdvance, 2 * mLineHeight);
+
+        render();
+    }
+
+    private Rect textCell(float advance, int top) {
+        return new Rect(0, top, (int) Math.ceil(advance) + 2 * mPadding, top + mLineHeight);
+    }
+
+    /**
+     * Returns shared atlas for paint's typeface, text size and color with given prefix and
+     * suffix, creating it if needed. Every obtained atlas must be released with {@link #release()}.
+     * @param paint  text paint
+     * @param prefix text drawn before value, can be empty
+     * @param suffix text drawn after value, can be empty
+     * @return shared atlas
+     */
+    public static GlyphAtlas obtain(Paint paint, String prefix, String suffix) {
+        Key key = new Key(paint.getTypeface(), paint.getTextSize(), paint.getColor(), prefix, suffix);
+
+        GlyphAtlas atlas = sAtlases.get(key);
+        if (atlas == null) {
+            atlas = new GlyphAtlas(key, paint);
+            sAtlases.put(key, atlas);
+        }
+
+        atlas.mReferences++;
+        return atlas;
+    }
+
+    /**
+     * Releases atlas obtained with {@link #obtain(android.graphics.Paint, String, String)}.
+     * When last user releases it atlas is no longer shared and must not be used, its bitmap is
+     * left to garbage collection.
+     */
+    public void release() {
+        if (--mReferences > 0) return;
+
+        sAtlases.remove(mKey);
+        mBitmap = null;
+    }
+
+    /**
+     * @param paint  text paint
+     * @param prefix text drawn before value
+     * @param suffix text drawn after value
+     * @return true if atlas was rendered with paint's typeface, text size and color and given
+     * prefix and suffix
+     */
+    public boolean matches(Paint paint, String prefix, String suffix) {
+        return mKey.matches(paint.getTypeface(), paint.getTextSize(), paint.getColor(), prefix, suffix);
+    }
+
+    /**
+     * Draws prefix and suffix with value glyphs between them.
+     * @param canvas canvas to draw on
+     * @param text   formatted text
+     * @param start  index of first value char in text
+     * @param end    index after last value char in text
+     * @param x      text anchor x position
+     * @param y      text baseline
+     * @param align  text alignment relative to x
+     * @return false if text contains chars atlas can't draw, nothing is drawn in that case
+     */
+    public boolean draw(Canvas canvas, char[] text, int start, int end, float x, float y, Paint.Align align) {
+        if (mBitmap == null) return false;
+
+        final boolean prefix = mKey.prefix.length() > 0;
+        final boolean suffix = mKey.suffix.length() > 0;
+        float width = 0;
+        if (prefix) width += mPrefixAdvance;
+        if (suffix) width += mSuffixAdvance;
+        for (int i = start; i < end; i++) {
+            int glyph = GLYPHS.indexOf(text[i]);
+            if (glyph < 0) return false;
+            width += mGlyphAdvances[glyph];
+        }
+
+        float pen = align == Paint.Align.CENTER ? x - width / 2 : align == Paint.Align.RIGHT ? x - width : x;
+        pen = Math.round(pen);
+        float top = Math.round(y) - mBaseline;
+
+        if (prefix) pen = blit(canvas, mPrefixCell, mPrefixAdvance, pen, top);
+        for (int i = start; i < end; i++) {
+            int glyph = GLYPHS.indexOf(text[i]);
+            pen = blit(canvas, mGlyphCells[glyph], mGlyphAdvances[glyph], pen, top);
+        }
+        if (suffix) blit(canvas, mSuffixCell, mSuffixAdvance, pen, top);
+
+        return true;
+    }
+
+    private float blit(Canvas canvas, Rect cell, float advance, float pen, float top) {
+        float left = Math.round(pen) - mPadding;
+        mDst.set(left, top, left + cell.width(), top + cell.height());
+        canvas.drawBitmap(mBitmap, cell, mDst, mBlitPaint);
+        return pen + advance;
+    }
+
+    // Called once, atlas bitmap is immutable afterwards
+    private void render() {
+        int width = Math.max(mGlyphCells[GLYPHS.length() - 1].right,
+                Math.max(mPrefixCell.right, mSuffixCell.right));
+        int height = 3 * mLineHeight;
+
+        mBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(mBitmap);
+
+        char[] glyph = new char[1];
+        for (int i = 0; i < GLYPHS.length(); i++) {
+            glyph[0] = GLYPHS.charAt(i);
+            Rect cell = mGlyphCells[i];
+            canvas.drawText(glyph, 0, 1, cell.left + mPadding, cell.top + mBaseline, mPaint);
+        }
+        canvas.drawText(mKey.prefix, mPrefixCell.left + mPadding, mPrefixCell.top + mBaseline, mPaint);
+        canvas.drawText(mKey.suffix, mSuffixCell.left + mPadding, mSuffixCell.top + mBaseline, mPaint);
+    }
+
+    private static class Key {
+        final Typeface typeface;
+        final float textSize;
+        final int color;
+        final String prefix;
+        final String suffix;
+
+        Key(Typeface typeface, float textSize, int color, String prefix, String suffix) {
+            this.typeface = typeface;
+            this.textSize = textSize;
+            this.color = color;
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        boolean matches(Typeface typeface, float textSize, int color, String prefix, String suffix) {
+            return this.typeface == typeface && this.textSize == textSize && this.color == color
+                    && this.prefix.equals(prefix) && this.suffix.equals(suffix);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return matches(key.typeface, key.textSize, key.color, key.prefix, key.suffix);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = typeface != null ? typeface.hashCode() : 0;
+            result = 31 * result + Float.floatToIntBits(textSize);
+            result = 31 * result + color;
+            result = 31 * result + prefix.hashCode();
+            return 31 * result + suffix.hashCode();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.github.bernardpletikosa.indicators.timeseries;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.os.SystemClock;
+import android.util.AttributeSet;
+
+import com.github.bernardpletikosa.indicators.HistoryIndicator;
+import com.github.bernardpletikosa.indicators.IndicatorPreset;
+import com.github.bernardpletikosa.indicators.geometry.TimeSeriesGeometry;
+import com.github.bernardpletikosa.indicators.series.DownsampledSeries;
+
+/**
+ * Shows history of indicated values as a line chart over time, newest value at the right edge.
+ * <p>Samples are kept in primitive arrays, when {@link #setMaxSamples(int) maximal number of
+ * samples} is reached the older half is dropped. Only up to two points per pixel of width are
+ * drawn. They are picked with Largest-Triangle-Three-Buckets by
+ * {@link com.github.bernardpletikosa.indicators.series.DownsampledSeries}, which updates picks
+ * incrementally, and drawn with a single {@link Canvas#drawLines(float[], int, int, Paint)}, so
+ * drawing cost follows width and not history length. Values can be indicated from any thread,
+ * every value is recorded and redraw is requested at most once per frame.</p>
+ */
+public class TimeSeriesIndicator extends HistoryIndicator<TimeSeriesGeometry> {
+
+    private static final int WIDTH_TO_HEIGHT = 3;
+    private static final int POINTS_PER_PIXEL = 2;
+    private static final int FLOATS_PER_SEGMENT = 4;
+
+    // Series is guarded by mLock, picks and segments are only touched on the main thread
+    private final DownsampledSeries mSeries = new DownsampledSeries(1);
+    private int[] mIndices = new int[mSeries.getMaxPoints()];
+    private float[] mSegments = new float[mSeries.getMaxPoints() * FLOATS_PER_SEGMENT];
+
+    public TimeSeriesIndicator(Context context) {
+        this(context, null);
+    }
+
+    public TimeSeriesIndicator(Context context, AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public TimeSeriesIndicator(Context context, AttributeSet attrs, int defStyle) {
+        this(context, attrs, defStyle, 0);
+    }
+
+    public TimeSeriesIndicator(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+        super(context, attrs, defStyleAttr, defStyleRes, new TimeSeriesGeometry(), WIDTH_TO_HEIGHT);
+
+        setXmlValues(getXmlPreset());
+    }
+
+    private void setXmlValues(IndicatorPreset preset) {
+        setXmlLineWidth(preset.getTimeSeriesLineWidth());
+        setMaxSamples(preset.getTimeSeriesMaxSamples());
+    }
+
+    @Override
+    protected void onHistoryMeasured(int width, int height) {
+        final int maxBuckets = Math.max(1, width * POINTS_PER_PIXEL);
+        if (mSeries.getMaxPoints() != maxBuckets + 1) {
+            mSeries.setMaxBuckets(maxBuckets);
+            mIndices = new int[mSeries.getMaxPoints()];
+            mSegments = new float[mSeries.getMaxPoints() * FLOATS_PER_SEGMENT];
+        }
+    }
+
+    @Override
+    protected void drawHistory(Canvas canvas, Paint linePaint) {
+        final int floats;
+        synchronized (mLock) {
+            floats = setSegments();
+        }
+        if (floats > 0) canvas.drawLines(mSegments, 0, floats, linePaint);
+    }
+
+    // Maps downsampled points to line segments, returns number of used floats
+    private int setSegments() {
+        final int count = mSeries.downsample(mIndices);
+        if (count < 2) return 0;
+
+        final long start = mSeries.getTime(0);
+        final long span = mSeries.getTime(mSeries.size() - 1) - start;
+
+        float x = mGeometry.xOf(0, span);
+        float y = mGeometry.yOf(mSeries.getValue(0) - mMinValue, mValueRange);
+        int floats = 0;
+        for (int i = 1; i < count; i++) {
+            final int index = mIndices[i];
+            mSegments[floats++] = x;
+            mSegments[floats++] = y;
+            x = mGeometry.xOf(mSeries.getTime(index) - start, span);
+            y = mGeometry.yOf(mSeries.getValue(index) - mMinValue, mValueRange);
+            mSegments[floats++] = x;
+            mSegments[floats++] = y;
+        }
+        return floats;
+    }
+
+    /**
+     * Appends value at current {@link SystemClock#elapsedRealtime()} to history and animates
+     * value text to it. Method can be called from any thread and every value is appended, values
+     * out of range are drawn at range edge.
+     * @param value value to indicate
+     */
+    @Override
+    public void indicate(float value) {
+        appendNow(value);
+        super.indicate(value);
+    }
+
+    // Time is read under the lock so racing producers append in time order, sample appended
+    // with a later time moves current time to it instead of failing
+    private void appendNow(float value) {
+        synchronized (mLock) {
+            final long now = SystemClock.elapsedRealtime();
+            final int size = mSeries.size();
+            mSeries.append(size > 0 ? Math.max(now, mSeries.getTime(size - 1)) : now, value);
+        }
+
+        invalidateFromAnyThread();
+    }
+
+    /**
+     * Appends value to history without changing indicated value. Method can be called from any
+     * thread.
+     * @param time  sample time in {@link SystemClock#elapsedRealtime()} milliseconds, the same
+     *              clock {@link #indicate(float)} uses, not before time of last sample
+     * @param value value to append
+     */
+    public void append(long time, float value) throws IllegalArgumentException {
+        synchronized (mLock) {
+            mSeries.append(time, value);
+        }
+
+        invalidateFromAnyThread();
+    }
+
+    /**
+     * Removes all values from history.
+     */
+    public void clear() {
+        synchronized (mLock) {
+            mSeries.clear();
+        }
+
+        invalidateFromAnyThread();
+    }
+
+    /**
+     * Sets maximal number of values kept in history. When history is full the older half of
+     * values is dropped at once. Default is 262144, over 7 hours of 10 Hz values.
+     * XML parameter {@link com.github.bernardpletikosa.indicators.R.attr#time_series_max_samples}
+     * @param maxSamples maximal number of values, at least 2
+     */
+    public void setMaxSamples(int maxSamples) throws IllegalArgumentException {
+        synchronized (mLock) {
+            mSeries.setMaxSamples(maxSamples);
+        }
+
+        invalidateFromAnyThread();
+    }
+
+    /**
+     * @return maximal number of values kept in history
+     */
+    public int getMaxSamples() {
+        synchronized (mLock) {
+            return mSeries.getMaxSamples();
+        }
+    }
+
+    /**
+     * @return number of values in history
+     */
+    public int getCount() {
+        synchronized (mLock) {
+            return mSeries.size();
+        }
+    }
+}
@@ -1,18 +1,17 @@
 package com.github.bernardpletikosa.indicators.triangle;
 
-import android.animation.ValueAnimator;
 import android.content.Context;
-import android.content.res.TypedArray;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Path;
-import android.graphics.PointF;
 import android.util.AttributeSet;
 
+import com.github.bernardpletikosa.indicators.IndicatorPreset;
+import com.github.bernardpletikosa.indicators.IndicatorStyle;
 import com.github.bernardpletikosa.indicators.IndicatorView;
-import com.github.bernardpletikosa.indicators.R;
 import com.github.bernardpletikosa.indicators.consts.Direction;
 import com.github.bernardpletikosa.indicators.consts.SizeUnit;
+import com.github.bernardpletikosa.indicators.geometry.TriangleGeometry;
 
 import static com.github.bernardpletikosa.indicators.consts.Defaults.NO_VALUE;
 import static com.github.bernardpletikosa.indicators.consts.Direction.LEFT_RIGHT;
@@ -24,11 +23,12 @@ public class TriangleIndicator extends IndicatorView {
     protected int mTotalWidth;
     protected int mTotalHeight;
     protected Direction mDirection;
+    protected final TriangleGeometry mGeometry = new TriangleGeometry();
 
     private int mEmptyWidth;
     private int mEmptyHeight;
-    private Path mBackgroundPath = new Path();
-    private Path mMainPath = new Path();
+    private final Path mBackgroundPath = new Path();
+    private final Path mMainPath = new Path();
 
     public TriangleIndicator(Context context) {
         this(context, null);
@@ -39,13 +39,20 @@ public class TriangleIndicator extends IndicatorView {
     }
 
     public TriangleIndicator(Context context, AttributeSet attrs, int defStyle) {
-        super(context, attrs);
+        this(context, attrs, defStyle, 0);
+    }
+
+    public TriangleIndicator(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+        super(context, attrs, defStyleAttr, defStyleRes);
 
-        setXmlValues(context.getTheme().obtainStyledAttributes(attrs, R.styleable.Triangle, 0, 0));
+        setXmlValues(getXmlPreset());
     }
 
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        if (setCachedMeasure(widthMeasureSpec, heightMeasureSpec)) return;
+
+        final long measureStart = beginMeasureSection();
         int w, h;
         mTotalWidth = MeasureSpec.getSize(widthMeasureSpec);
         mTotalHeight = MeasureSpec.getSize(heightMeasureSpec);
@@ -74,38 +81,55 @@ public class TriangleIndicator extends IndicatorView {
 
         if (mWidth <= NO_VALUE) mWidth = w;
         if (mHeight <= NO_VALUE) mHeight = h;
+        mGeometry.set(mWidth, mHeight, mDirection);
 
         setMeasuredDimension(w, h);
         setHelperPath();
 
         mTextPositionX = (int) (mEmptyWidth + (2f / 3f * mWidth));
         mTextPositionY = (int) ((2f / 3f * mHeight) + mEmptyHeight -
-                ((mTextPaint.descent() + mTextPaint.ascent()) / 2));
+                ((mStyle.getTextPaint().descent() + mStyle.getTextPaint().ascent()) / 2));
+        cacheMeasure(widthMeasureSpec, heightMeasureSpec);
+        endMeasureSection(measureStart);
+    }
+
+    @Override
+    protected void onShapeChanged() {
+        setBackgroundPath();
+        super.onShapeChanged();
     }
 
     private void setHelperPath() {
         mEmptyWidth = mTotalWidth > 0 ? (mTotalWidth - mWidth) / 2 : 0;
         mEmptyHeight = mTotalHeight > 0 ? (mTotalHeight - mHeight) / 2 : 0;
 
-        mBackgroundPaint.setStyle(Paint.Style.FILL_AND_STROKE);
-        mMainPaint.setStyle(Paint.Style.FILL_AND_STROKE);
         setBackgroundPath();
+        invalidateStaticLayer();
+    }
+
+    @Override
+    protected void onDrawStatic(Canvas canvas) {
+        canvas.drawPath(mBackgroundPath, mDirection == LEFT_RIGHT ? mStyle.getBackgroundPaint() : mStyle.getMainPaint());
     }
 
     @Override
     protected void onDraw(Canvas canvas) {
-        final PointF[] positions = calculatePositions();
-        mMainPath.reset();
-        mMainPath.moveTo(positions[0].x, positions[0].y);
-        mMainPath.lineTo(positions[1].x, positions[1].y);
-        mMainPath.lineTo(positions[2].x, positions[2].y);
-        mMainPath.close();
+        setMainPath();
+
+        drawStatic(canvas);
+        canvas.drawPath(mMainPath, mDirection == LEFT_RIGHT ? mStyle.getMainPaint() : mStyle.getBackgroundPaint());
 
-        canvas.drawPath(mBackgroundPath, mDirection == LEFT_RIGHT ? mBackgroundPaint : mMainPaint);
-        canvas.drawPath(mMainPath, mDirection == LEFT_RIGHT ? mMainPaint : mBackgroundPaint);
+        drawText(canvas, mGeometry.valueAt(mCurrentValue, mValueRange));
+    }
 
-        drawText(canvas, (mDirection == LEFT_RIGHT ? mCurrentValue / mWidth :
-                1 - mCurrentValue / mWidth) * mValueRange);
+    /**
+     * Triangle shapes are always drawn filled and stroked, given style is used with
+     * {@link android.graphics.Paint.Style#FILL_AND_STROKE} shape style.
+     */
+    @Override
+    public void setStyle(IndicatorStyle style) throws IllegalArgumentException {
+        checkArgument(style, "style");
+        super.setStyle(style.withShapeStyle(Paint.Style.FILL_AND_STROKE));
     }
 
     /**
@@ -125,8 +149,9 @@ public class TriangleIndicator extends IndicatorView {
             throw new IllegalArgumentException("Direction " + direction.name() + " not supported.");
 
         mDirection = direction;
+        mGeometry.set(mWidth, mHeight, mDirection);
 
-        requestLayout();
+        invalidateShape();
         draw();
     }
 
@@ -144,8 +169,9 @@ public class TriangleIndicator extends IndicatorView {
 
         mWidth = unit == SizeUnit.PX ? width : (int) dpToPixel(width);
         mHeight = unit == SizeUnit.PX ? height : (int) dpToPixel(height);
+        mGeometry.set(mWidth, mHeight, mDirection);
 
-        requestLayout();
+        requestIndicatorLayout();
         draw();
     }
 
@@ -174,52 +200,42 @@ public class TriangleIndicator extends IndicatorView {
         return mDirection;
     }
 
+    //Only vertical strip between old and new end of the triangle changes
     @Override
-    protected ValueAnimator.AnimatorUpdateListener getUpdateListener() {
-        final float absoluteTarget = mTargetValue + Math.abs(mMinValue);
-
-        return new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                float maxAnimatedFraction = Math.max(animation.getAnimatedFraction(), 0.01f);
-                float shift = calculateShift(absoluteTarget, mValueRange);
-
-                mCurrentValue = mOldValue + (shift * maxAnimatedFraction);
-                postInvalidate();
-            }
-        };
+    protected void invalidateValueChange(float oldValue, float newValue) {
+        final float from = Math.min(oldValue, newValue);
+        final float to = Math.max(oldValue, newValue);
+        final float left = mDirection == LEFT_RIGHT ? mEmptyWidth + from : mEmptyWidth + mWidth - to;
+        final float right = mDirection == LEFT_RIGHT ? mEmptyWidth + to : mEmptyWidth + mWidth - from;
+
+        mDirtyRect.set(left, mEmptyHeight + mGeometry.topAt(to), right, mEmptyHeight + mHeight);
+        invalidateDirty(mDirtyRect);
     }
 
-    private void setXmlValues(TypedArray array) {
-        mWidth = (int) array.getDimension(R.styleable.Triangle_triangle_width, NO_VALUE);
-        mHeight = (int) array.getDimension(R.styleable.Triangle_triangle_height, NO_VALUE);
-        mDirection = Direction.values()[array.getInt(R.styleable
-                .Triangle_triangle_direction, 2)];
+    private void setXmlValues(IndicatorPreset preset) {
+        mWidth = preset.getTriangleWidth();
+        mHeight = preset.getTriangleHeight();
+        mDirection = preset.getTriangleDirection();
+        mGeometry.set(mWidth, mHeight, mDirection);
     }
 
     //Calculates shift depending on direction
-    private float calculateShift(float absoluteTarget, float absoluteRange) {
-        switch (mDirection) {
-            case LEFT_RIGHT:
-                return (absoluteTarget / absoluteRange) * mWidth - mOldValue;
-            case RIGHT_LEFT:
-                return ((absoluteRange - absoluteTarget) / absoluteRange) * mWidth - mOldValue;
-        }
-        return 0;
+    @Override
+    protected float calculateShift(float absoluteTarget) {
+        return mGeometry.positionOf(absoluteTarget, mValueRange) - mOldValue;
     }
 
     //Calculates rectangle corners position
     private void setBackgroundPath() {
+        mBackgroundPath.reset();
         switch (mDirection) {
             case LEFT_RIGHT:
-                mBackgroundPath = new Path();
                 mBackgroundPath.moveTo(mEmptyWidth, mEmptyHeight + mHeight);
                 mBackgroundPath.lineTo(mWidth + mEmptyWidth, mEmptyHeight);
                 mBackgroundPath.lineTo(mWidth + mEmptyWidth, mEmptyHeight + mHeight);
                 mBackgroundPath.close();
                 return;
             case RIGHT_LEFT:
-                mBackgroundPath = new Path();
                 mBackgroundPath.moveTo(mEmptyWidth, mEmptyHeight + mHeight);
                 mBackgroundPath.lineTo(mEmptyWidth, mEmptyHeight);
                 mBackgroundPath.lineTo(mWidth + mEmptyWidth, mEmptyHeight + mHeight);
@@ -227,18 +243,21 @@ public class TriangleIndicator extends IndicatorView {
         }
     }
 
-    //Calculates rectangle corners position
-    private PointF[] calculatePositions() {
+    //Calculates indicated triangle corners position
+    private void setMainPath() {
+        mMainPath.reset();
         switch (mDirection) {
             case RIGHT_LEFT:
-                return new PointF[]{new PointF(mEmptyWidth + mWidth, mEmptyHeight + mHeight),
-                        new PointF(mEmptyWidth + mWidth - mCurrentValue, mEmptyHeight + mHeight * (1 - mCurrentValue / mWidth)),
-                        new PointF(mEmptyWidth + mWidth - mCurrentValue, mEmptyHeight + mHeight)};
+                mMainPath.moveTo(mEmptyWidth + mWidth, mEmptyHeight + mHeight);
+                mMainPath.lineTo(mEmptyWidth + mWidth - mCurrentValue, mEmptyHeight + mGeometry.topAt(mCurrentValue));
+                mMainPath.lineTo(mEmptyWidth + mWidth - mCurrentValue, mEmptyHeight + mHeight);
+                mMainPath.close();
+                return;
             case LEFT_RIGHT:
-                return new PointF[]{new PointF(mEmptyWidth, mEmptyHeight + mHeight),
-                        new PointF(mEmptyWidth + mCurrentValue, mEmptyHeight + mHeight * (1 - mCurrentValue / mWidth)),
-                        new PointF(mEmptyWidth + mCurrentValue, mEmptyHeight + mHeight)};
+                mMainPath.moveTo(mEmptyWidth, mEmptyHeight + mHeight);
+                mMainPath.lineTo(mEmptyWidth + mCurrentValue, mEmptyHeight + mGeometry.topAt(mCurrentValue));
+                mMainPath.lineTo(mEmptyWidth + mCurrentValue, mEmptyHeight + mHeight);
+                mMainPath.close();
         }
-        return new PointF[]{};
     }
 }
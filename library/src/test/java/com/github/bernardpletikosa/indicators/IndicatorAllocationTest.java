@@ -0,0 +1,246 @@
+package com.github.bernardpletikosa.indicators;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.os.Build;
+import android.view.View;
+
+import com.github.bernardpletikosa.indicators.anim.ManualFrameClock;
+import com.github.bernardpletikosa.indicators.consts.AnimationMode;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Steps indicator through restarted, retargeted and spring animations and checks that frame
+ * steps and onDraw don't allocate once indicator was drawn for the first time.
+ * <p>Frames are stepped by hand on {@link ManualFrameClock} and drawn on a canvas whose draw
+ * calls do nothing, so measured allocations come from indicator code only and not from
+ * Choreographer or Robolectric's recording canvas and path shadows.</p>
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = Build.VERSION_CODES.LOLLIPOP,
+        shadows = IndicatorAllocationTest.ShadowNoOpPath.class)
+public abstract class IndicatorAllocationTest<T extends IndicatorView> {
+
+    private static final int SIZE = 200;
+    private static final long FRAME_NANOS = 16000000L;
+    private static final int MAX_FRAMES = 500;
+    // JVM itself allocates on test thread once in a while, when linking or deoptimizing code,
+    // allocation by indicator code shows up in every attempt
+    private static final int ATTEMPTS = 3;
+
+    private final com.sun.management.ThreadMXBean mThreads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final Canvas mCanvas = new NoOpCanvas();
+    private long mThreadId;
+    private long mMeasureOverhead;
+    private long mFrameTime = 1000000000L;
+
+    private T mIndicator;
+
+    /**
+     * @param context application context
+     * @return indicator under test
+     */
+    protected abstract T createIndicator(Context context);
+
+    @Before
+    public void setUp() {
+        assumeTrue(mThreads.isThreadAllocatedMemorySupported());
+        mThreads.setThreadAllocatedMemoryEnabled(true);
+        mThreadId = Thread.currentThread().getId();
+        ManualFrameClock.install();
+
+        mIndicator = createIndicator(RuntimeEnvironment.application);
+        mIndicator.setTextIndication(true);
+        mIndicator.measure(View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY));
+        mIndicator.layout(0, 0, SIZE, SIZE);
+
+        // Reading allocated bytes may allocate itself, smallest of repeated reads is subtracted
+        mMeasureOverhead = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            long start = allocatedBytes();
+            mMeasureOverhead = Math.min(mMeasureOverhead, allocatedBytes() - start);
+        }
+    }
+
+    @Test
+    public void restartAnimationDoesNotAllocate() {
+        mIndicator.setAnimationMode(AnimationMode.RESTART);
+        assertAnimationDoesNotAllocate();
+    }
+
+    @Test
+    public void retargetAnimationDoesNotAllocate() {
+        mIndicator.setAnimationMode(AnimationMode.RETARGET);
+        assertAnimationDoesNotAllocate();
+    }
+
+    @Test
+    public void springAnimationDoesNotAllocate() {
+        mIndicator.setAnimationMode(AnimationMode.SPRING);
+        mIndicator.setSpring(200, 0.5f);
+        assertAnimationDoesNotAllocate();
+    }
+
+    private void assertAnimationDoesNotAllocate() {
+        warmUp();
+
+        long allocated = 0;
+        for (int i = 0; i < ATTEMPTS; i++) {
+            allocated = animate();
+            if (allocated == 0) return;
+        }
+        assertEquals(0, allocated);
+    }
+
+    //Animates towards one value and changes target in the middle, returns allocated bytes
+    private long animate() {
+        mIndicator.indicate(80);
+        long allocated = runFrames(5);
+        mIndicator.indicate(30);
+        allocated += runFrames(MAX_FRAMES);
+
+        assertAtTarget(30);
+        return allocated;
+    }
+
+    // First animation and draw create lazily held objects, like static layer bitmap
+    private void warmUp() {
+        mIndicator.onDraw(mCanvas);
+        mIndicator.indicate(100);
+        runFrames(MAX_FRAMES);
+        mIndicator.indicate(0);
+        runFrames(MAX_FRAMES);
+    }
+
+    //Steps and draws frames while animating, returns bytes allocated by steps and draws
+    private long runFrames(int frames) {
+        long allocated = 0;
+        for (int i = 0; i < frames && mIndicator.isAnimating(); i++) {
+            final long start = allocatedBytes();
+            ManualFrameClock.doFrame(mFrameTime);
+            mIndicator.onDraw(mCanvas);
+            allocated += allocatedBytes() - start - mMeasureOverhead;
+
+            mFrameTime += FRAME_NANOS;
+        }
+        return allocated;
+    }
+
+    private void assertAtTarget(float target) {
+        assertFalse(mIndicator.isAnimating());
+        assertEquals(target, mIndicator.getTargetValue(), 0);
+    }
+
+    private long allocatedBytes() {
+        return mThreads.getThreadAllocatedBytes(mThreadId);
+    }
+
+    /**
+     * Canvas ignoring all drawing, indicators only draw through these methods.
+     */
+    private static class NoOpCanvas extends Canvas {
+
+        @Override
+        public int save() {
+            return 1;
+        }
+
+        @Override
+        public void translate(float dx, float dy) {
+        }
+
+        @Override
+        public void restoreToCount(int saveCount) {
+        }
+
+        @Override
+        public boolean isHardwareAccelerated() {
+            return false;
+        }
+
+        @Override
+        public void drawCircle(float cx, float cy, float radius, Paint paint) {
+        }
+
+        @Override
+        public void drawRect(RectF rect, Paint paint) {
+        }
+
+        @Override
+        public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        }
+
+        @Override
+        public void drawArc(RectF oval, float startAngle, float sweepAngle, boolean useCenter, Paint paint) {
+        }
+
+        @Override
+        public void drawPath(Path path, Paint paint) {
+        }
+
+        @Override
+        public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+        }
+
+        @Override
+        public void drawLines(float[] pts, int offset, int count, Paint paint) {
+        }
+
+        @Override
+        public void drawText(char[] text, int index, int count, float x, float y, Paint paint) {
+        }
+
+        @Override
+        public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+        }
+
+        @Override
+        public void drawBitmap(Bitmap bitmap, Rect src, RectF dst, Paint paint) {
+        }
+    }
+
+    /**
+     * Path which keeps no points, Robolectric's default path shadow records every point as
+     * an object.
+     */
+    @Implements(Path.class)
+    public static class ShadowNoOpPath {
+
+        @Implementation
+        public void reset() {
+        }
+
+        @Implementation
+        public void moveTo(float x, float y) {
+        }
+
+        @Implementation
+        public void lineTo(float x, float y) {
+        }
+
+        @Implementation
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.bernardpletikosa.indicators.anim;
+
+/**
+ * Installs {@link FrameClock} which is stepped by hand instead of by Choreographer, so tests
+ * control frame times and nothing else runs between frames.
+ */
+public final class ManualFrameClock {
+
+    private static final FrameClock.Ticker MANUAL_TICKER = new FrameClock.Ticker() {
+        @Override
+        public void schedule() {
+        }
+    };
+
+    private ManualFrameClock() {
+    }
+
+    /**
+     * Replaces shared clock with a new manually stepped one.
+     */
+    public static void install() {
+        FrameClock.setInstance(new FrameClock(MANUAL_TICKER));
+    }
+
+    /**
+     * Steps all registered callbacks.
+     * @param frameTimeNanos frame time
+     */
+    public static void doFrame(long frameTimeNanos) {
+        FrameClock.getInstance().doFrame(frameTimeNanos);
+    }
+}
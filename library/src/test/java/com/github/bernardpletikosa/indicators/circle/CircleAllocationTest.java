@@ -0,0 +1,13 @@
+package com.github.bernardpletikosa.indicators.circle;
+
+import android.content.Context;
+
+import com.github.bernardpletikosa.indicators.IndicatorAllocationTest;
+
+public class CircleAllocationTest extends IndicatorAllocationTest<CircleIndicator> {
+
+    @Override
+    protected CircleIndicator createIndicator(Context context) {
+        return new CircleIndicator(context);
+    }
+}
@@ -0,0 +1,13 @@
+package com.github.bernardpletikosa.indicators.line;
+
+import android.content.Context;
+
+import com.github.bernardpletikosa.indicators.IndicatorAllocationTest;
+
+public class LineAllocationTest extends IndicatorAllocationTest<LineIndicator> {
+
+    @Override
+    protected LineIndicator createIndicator(Context context) {
+        return new LineIndicator(context);
+    }
+}
@@ -0,0 +1,13 @@
+package com.github.bernardpletikosa.indicators.pie;
+
+import android.content.Context;
+
+import com.github.bernardpletikosa.indicators.IndicatorAllocationTest;
+
+public class HalfPieAllocationTest extends IndicatorAllocationTest<HalfPieIndicator> {
+
+    @Override
+    protected HalfPieIndicator createIndicator(Context context) {
+        return new HalfPieIndicator(context);
+    }
+}
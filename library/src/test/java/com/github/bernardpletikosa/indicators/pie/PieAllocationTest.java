@@ -0,0 +1,13 @@
+package com.github.bernardpletikosa.indicators.pie;
+
+import android.content.Context;
+
+import com.github.bernardpletikosa.indicators.IndicatorAllocationTest;
+
+public class PieAllocationTest extends IndicatorAllocationTest<PieIndicator> {
+
+    @Override
+    protected PieIndicator createIndicator(Context context) {
+        return new PieIndicator(context);
+    }
+}
@@ -0,0 +1,13 @@
+package com.github.bernardpletikosa.indicators.pie;
+
+import android.content.Context;
+
+import com.github.bernardpletikosa.indicators.IndicatorAllocationTest;
+
+public class QuarterPieAllocationTest extends IndicatorAllocationTest<QuarterPieIndicator> {
+
+    @Override
+    protected QuarterPieIndicator createIndicator(Context context) {
+        return new QuarterPieIndicator(context);
+    }
+}
@@ -0,0 +1,13 @@
+package com.github.bernardpletikosa.indicators.sparkline;
+
+import android.content.Context;
+
+import com.github.bernardpletikosa.indicators.IndicatorAllocationTest;
+
+public class SparklineAllocationTest extends IndicatorAllocationTest<SparklineIndicator> {
+
+    @Override
+    protected SparklineIndicator createIndicator(Context context) {
+        return new SparklineIndicator(context);
+    }
+}
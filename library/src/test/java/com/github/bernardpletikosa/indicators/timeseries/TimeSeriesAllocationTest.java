@@ -0,0 +1,13 @@
+package com.github.bernardpletikosa.indicators.timeseries;
+
+import android.content.Context;
+
+import com.github.bernardpletikosa.indicators.IndicatorAllocationTest;
+
+public class TimeSeriesAllocationTest extends IndicatorAllocationTest<TimeSeriesIndicator> {
+
+    @Override
+    protected TimeSeriesIndicator createIndicator(Context context) {
+        return new TimeSeriesIndicator(context);
+    }
+}
@@ -0,0 +1,13 @@
+package com.github.bernardpletikosa.indicators.triangle;
+
+import android.content.Context;
+
+import com.github.bernardpletikosa.indicators.IndicatorAllocationTest;
+
+public class TriangleAllocationTest extends IndicatorAllocationTest<TriangleIndicator> {
+
+    @Override
+    protected TriangleIndicator createIndicator(Context context) {
+        return new TriangleIndicator(context);
+    }
+}
@@ -38,13 +38,8 @@ public class IndicatorsActivity extends Activity {
         Executors.newSingleThreadScheduledExecutor().scheduleAtFixedRate(new Runnable() {
             @Override
             public void run() {
-                runOnUiThread(new Runnable() {
-                    @Override
-                    public void run() {
-                        float step = (20f * new Random().nextFloat()) - 10f;
-                        for (IndicatorView in : indicators) in.indicate(step);
-                    }
-                });
+                float step = (20f * new Random().nextFloat()) - 10f;
+                for (IndicatorView in : indicators) in.indicate(step);
             }
         }, 0, 5, TimeUnit.SECONDS);
     }
@@ -97,6 +92,7 @@ public class IndicatorsActivity extends Activity {
     //        line.setSize(SizeUnit.DP, 200, 50);
     //
     //        final PieIndicator pie = (PieIndicator) findViewById(R.id.pie);
+    //        pie.edit();
     //        pie.setRange(0, 20);
     //        pie.setAnimationDuration(500);
     //        pie.setMainColor(getResources().getColor(R.color.main));
@@ -108,6 +104,7 @@ public class IndicatorsActivity extends Activity {
     //        pie.setRadius(SizeUnit.DP, 100);
     //        pie.setInnerRadius(70);
     //        pie.setStartingAngle(0);
+    //        pie.apply();
     //
     //        final HalfPieIndicator pieHalf = (HalfPieIndicator) findViewById(R.id.pie_half);
     //        pieHalf.setRange(0, 20);
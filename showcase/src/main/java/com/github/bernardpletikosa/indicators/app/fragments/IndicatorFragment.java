@@ -76,13 +76,8 @@ abstract class IndicatorFragment extends Fragment {
         service.scheduleAtFixedRate(new Runnable() {
             @Override
             public void run() {
-                getActivity().runOnUiThread(new Runnable() {
-                    @Override
-                    public void run() {
-                        Random rand = new Random();
-                        getIndicator().indicate(rand.nextFloat() * 100);
-                    }
-                });
+                Random rand = new Random();
+                getIndicator().indicate(rand.nextFloat() * 100);
             }
         }, 0, 2, TimeUnit.SECONDS);
     }